@@ -19,10 +19,12 @@ import com.denizenscript.denizen2sponge.commands.server.ExecuteCommand;
 import com.denizenscript.denizen2sponge.commands.server.SaveDataCommand;
 import com.denizenscript.denizen2sponge.commands.server.ShutdownCommand;
 import com.denizenscript.denizen2sponge.commands.world.*;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2sponge.events.entity.*;
 import com.denizenscript.denizen2sponge.events.player.*;
 import com.denizenscript.denizen2sponge.events.server.ClientPingsServerScriptEvent;
 import com.denizenscript.denizen2sponge.events.server.CommandSentScriptEvent;
+import com.denizenscript.denizen2sponge.events.server.FlagExpiresScriptEvent;
 import com.denizenscript.denizen2sponge.events.server.InternalScriptEvent;
 import com.denizenscript.denizen2sponge.events.server.ServerStopsScriptEvent;
 import com.denizenscript.denizen2sponge.events.world.*;
@@ -35,15 +37,28 @@ import com.denizenscript.denizen2sponge.spongescripts.GameCommandScript;
 import com.denizenscript.denizen2sponge.spongescripts.ItemScript;
 import com.denizenscript.denizen2sponge.tags.handlers.*;
 import com.denizenscript.denizen2sponge.tags.objects.*;
+import com.denizenscript.denizen2sponge.utilities.AsyncFileWriter;
+import com.denizenscript.denizen2sponge.utilities.DataKeys;
+import com.denizenscript.denizen2sponge.utilities.EntityIndex;
 import com.denizenscript.denizen2sponge.utilities.GameRules;
+import com.denizenscript.denizen2sponge.utilities.PlayerIndex;
+import com.denizenscript.denizen2sponge.utilities.Regions;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
+import com.denizenscript.denizen2sponge.utilities.Utilities;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagCache;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagExpiry;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import com.google.inject.Inject;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.game.GameRegistryEvent;
 import org.spongepowered.api.event.game.state.GamePreInitializationEvent;
+import org.spongepowered.api.event.game.state.GameStartedServerEvent;
 import org.spongepowered.api.event.game.state.GameStoppedEvent;
 import org.spongepowered.api.plugin.Plugin;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -139,6 +154,12 @@ public class Denizen2Sponge {
         Denizen2Core.getImplementation().getScriptsFolder().mkdirs();
         Denizen2Core.getImplementation().getAddonsFolder().mkdirs();
         Denizen2Core.getImplementation().getScriptDataFolder().mkdirs();
+        // Entity tracking and tag memoization
+        Sponge.getEventManager().registerListeners(this, new EntityIndex());
+        Sponge.getEventManager().registerListeners(this, new PlayerIndex());
+        Sponge.getEventManager().registerListeners(this, new TagMemo());
+        Sponge.getEventManager().registerListeners(this, new FlagCache());
+        Sponge.getEventManager().registerListeners(this, new FlagExpiry());
         // Commands: Entity
         Denizen2Core.register(new AbsorptionCommand());
         Denizen2Core.register(new AddAITaskCommand());
@@ -196,6 +217,7 @@ public class Denizen2Sponge {
         Denizen2Core.register(new SaveDataCommand());
         Denizen2Core.register(new ShutdownCommand());
         // Commands: World
+        Denizen2Core.register(new CreateRegionCommand());
         Denizen2Core.register(new DeleteWorldCommand());
         Denizen2Core.register(new DifficultyCommand());
         Denizen2Core.register(new EditBlockCommand());
@@ -204,6 +226,7 @@ public class Denizen2Sponge {
         Denizen2Core.register(new PlayEffectCommand());
         Denizen2Core.register(new PlaySoundCommand());
         Denizen2Core.register(new RemoveGameRuleCommand());
+        Denizen2Core.register(new RemoveRegionCommand());
         Denizen2Core.register(new SetBlockCommand());
         Denizen2Core.register(new SetGameRuleCommand());
         Denizen2Core.register(new StrikeCommand());
@@ -250,10 +273,12 @@ public class Denizen2Sponge {
         // Events: Server
         Denizen2Core.register(new ClientPingsServerScriptEvent());
         Denizen2Core.register(new CommandSentScriptEvent());
+        Denizen2Core.register(new FlagExpiresScriptEvent());
         Denizen2Core.register(new InternalScriptEvent());
         Denizen2Core.register(new ServerStopsScriptEvent());
         // Events: World
         Denizen2Core.register(new BlockChangesScriptEvent());
+        Denizen2Core.register(new BlocksChangeScriptEvent());
         Denizen2Core.register(new BlockFadesScriptEvent());
         Denizen2Core.register(new ExplosionOccursScriptEvent());
         Denizen2Core.register(new PortalFormedScriptEvent());
@@ -310,7 +335,15 @@ public class Denizen2Sponge {
         // Build loaded advancements
         AdvancementScript.buildAll();
         // Central loop
-        Sponge.getScheduler().createTaskBuilder().intervalTicks(1).execute(() -> Denizen2Core.tick(0.05)).submit(this);
+        Sponge.getScheduler().createTaskBuilder().intervalTicks(1).execute(() -> {
+            TagMemo.tick();
+            FlagExpiry.tick();
+            Regions.tick();
+            EntityIndex.tick();
+            Denizen2Core.tick(0.05);
+            DeferredEvents.tick();
+            FlagCache.flushAll();
+        }).submit(this);
         // Call loaded event for sub-plugins to listen for
         Sponge.getEventManager().post(new Denizen2SpongeLoadedEvent(getGenericCause()));
         // TODO: Config option -> readyToSpamEvents = true;
@@ -320,10 +353,33 @@ public class Denizen2Sponge {
         return new File("./config/denizen/");
     }
 
+    @Listener
+    public void onServerStarted(GameStartedServerEvent event) {
+        // Regions need their worlds loaded
+        Regions.load();
+        EntityIndex.indexAll();
+        PlayerIndex.indexAll();
+        FlagExpiry.trackAllEntities();
+        // All plugins have registered their data keys and catalog types by now
+        DataKeys.invalidate();
+        Utilities.clearCatalogAliases();
+    }
+
+    @Listener
+    public void onKeysRegistered(GameRegistryEvent.Register<Key<?>> event) {
+        DataKeys.invalidate();
+    }
+
+    @Listener
+    public void onCatalogTypesRegistered(GameRegistryEvent.Register<?> event) {
+        Utilities.clearCatalogAliases();
+    }
+
     @Listener
     public void onServerStop(GameStoppedEvent event) {
-        // Save server data
-        saveServerFlags();
+        // Finish any pending writes, then save server data
+        AsyncFileWriter.flush();
+        AsyncFileWriter.writeNow(getServerFlagsFile(), serverFlags.toEntryMap().savable());
         // Disable Denizen2
         Denizen2Core.unload();
     }
@@ -335,13 +391,14 @@ public class Denizen2Sponge {
     public void loadServerFlags() {
         try {
             if (!getServerFlagsFile().exists()) {
-                serverFlagMap = new MapTag();
+                serverFlags = new FlagTable();
                 return;
             }
             InputStream is = new FileInputStream(getServerFlagsFile());
             String str = CoreUtilities.streamToString(is);
             is.close();
-            serverFlagMap = (MapTag) Denizen2Core.loadFromSaved(Debug::error, str);
+            serverFlags = FlagTable.fromEntryMap((MapTag) Denizen2Core.loadFromSaved(Debug::error, str));
+            FlagExpiry.trackAll(FlagExpiry.SERVER, serverFlags);
         }
         catch (Exception e) {
             Debug.exception(e);
@@ -349,22 +406,21 @@ public class Denizen2Sponge {
     }
 
     public void saveServerFlags() {
-        try {
-            String flags = serverFlagMap.savable();
-            OutputStream os = new FileOutputStream(getServerFlagsFile(), false);
-            OutputStreamWriter osw = new OutputStreamWriter(os);
-            osw.write(flags);
-            osw.flush();
-            os.flush();
-            osw.close();
-            os.close();
-        }
-        catch (Exception e) {
-            Debug.exception(e);
-        }
+        AsyncFileWriter.write(getServerFlagsFile(), serverFlags.toEntryMap().savable());
     }
 
-    public MapTag serverFlagMap = new MapTag();
+    /**
+     * The server flags. Replaces the serverFlagMap field of older versions, which held them as a MapTag.
+     */
+    public FlagTable serverFlags = new FlagTable();
+
+    /**
+     * Builds a map of each server flag to an entry map holding its value and, for timed flags, its "duration" expiry time.
+     * This is a new map on each call, so changes to it are not kept: change serverFlags instead.
+     */
+    public MapTag getServerFlagMap() {
+        return serverFlags.toEntryMap();
+    }
 
     public File getServerFlagsFile() {
         return new File(getMainDirectory(), "./server_flags.yml");
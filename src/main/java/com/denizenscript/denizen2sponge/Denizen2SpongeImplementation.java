@@ -5,9 +5,17 @@ import com.denizenscript.denizen2core.commands.CommandEntry;
 import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2core.utilities.ErrorInducedException;
 import com.denizenscript.denizen2core.utilities.debugging.Debug;
+import com.denizenscript.denizen2sponge.events.CompiledSwitches;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
+import com.denizenscript.denizen2sponge.events.ScriptEventPool;
+import com.denizenscript.denizen2sponge.events.SwitchIndex;
+import com.denizenscript.denizen2sponge.events.server.InternalScriptEvent;
 import com.denizenscript.denizen2sponge.spongeevents.Denizen2SpongeReloadEvent;
 import com.denizenscript.denizen2sponge.spongescripts.AdvancementScript;
 import com.denizenscript.denizen2sponge.spongescripts.GameCommandScript;
+import com.denizenscript.denizen2sponge.utilities.DataKeys;
+import com.denizenscript.denizen2sponge.utilities.Regions;
+import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.format.TextColors;
@@ -25,6 +33,14 @@ public class Denizen2SpongeImplementation extends Denizen2Implementation {
         AdvancementScript.currentAdvancementScripts.clear();
         Denizen2Sponge.itemScripts.clear();
         Denizen2Sponge.entityScripts.clear();
+        CompiledSwitches.clear();
+        SwitchIndex.clearAll();
+        ScriptEventPool.invalidateAll();
+        DeferredEvents.clear();
+        InternalScriptEvent.clear();
+        DataKeys.invalidate();
+        Utilities.clearCatalogAliases();
+        Regions.clearContributed();
     }
 
     @Override
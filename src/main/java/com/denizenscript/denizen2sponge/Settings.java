@@ -10,6 +10,24 @@ public class Settings {
         }, input).getInternal();
     }
 
+    private static double tryDouble(String input) {
+        try {
+            return Double.parseDouble(input);
+        }
+        catch (NumberFormatException ex) {
+            throw new RuntimeException("Invalid number config setting: " + input);
+        }
+    }
+
+    private static int tryInt(String input) {
+        try {
+            return Integer.parseInt(input);
+        }
+        catch (NumberFormatException ex) {
+            throw new RuntimeException("Invalid integer config setting: " + input);
+        }
+    }
+
     public static boolean enforceLocale() {
         return tryBool(Denizen2Sponge.instance.config.getString("Enforce Locale", "true"));
     }
@@ -25,4 +43,12 @@ public class Settings {
     public static boolean noUnrelatedFiles() {
         return tryBool(Denizen2Sponge.instance.config.getString("Files.Advanced Protection", "true"));
     }
+
+    public static double deferredEventBudget() {
+        return tryDouble(Denizen2Sponge.instance.config.getString("Events.Deferred Budget", "5"));
+    }
+
+    public static int flagExpiryBudget() {
+        return tryInt(Denizen2Sponge.instance.config.getString("Flags.Expiry Budget", "100"));
+    }
 }
@@ -9,6 +9,7 @@ import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.utilities.DataKeys;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.entity.Entity;
 
@@ -71,6 +72,7 @@ public class EditEntityCommand extends AbstractCommand {
                 DataKeys.tryApply(entity, found, mapEntry.getValue(), queue.error);
             }
         }
+        TagMemo.invalidate(entity.getUniqueId());
         if (queue.shouldShowGood()) {
             queue.outGood("Edited the entity "
                     + ColorSet.emphasis + entityTag.debug() + ColorSet.good
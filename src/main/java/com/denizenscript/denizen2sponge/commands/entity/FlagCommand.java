@@ -5,37 +5,36 @@ import com.denizenscript.denizen2core.commands.CommandEntry;
 import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.DurationTag;
+import com.denizenscript.denizen2core.tags.objects.ListTag;
 import com.denizenscript.denizen2core.tags.objects.MapTag;
-import com.denizenscript.denizen2core.tags.objects.TimeTag;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagMapDataImpl;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagCache;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagExpiry;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.entity.Entity;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.temporal.*;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Optional;
 
 public class FlagCommand extends AbstractCommand {
 
     // <--[command]
     // @Since 0.3.0
     // @Name flag
-    // @Arguments <entity>/'server' <map of flags to set>
+    // @Arguments <entity>/<list of entities>/'server' <map of flags to set>
     // @Short flags an entity with some data.
-    // @Updated 2017/02/15
+    // @Updated 2026/10/17
     // @Group Entity
     // @Minimum 2
     // @Maximum 2
     // @Named duration (DurationTag) Sets the duration to apply to the flags being set.
     // @Description
-    // Adds or edits flags on an entity (including players, etc.).
+    // Adds or edits flags on an entity (including players, etc.), or on each entity in a list.
+    // Entity flags are written back to the entities at the end of the tick, so flagging an entity many times in one tick stays cheap.
+    // Flags set with a duration are removed soon after they expire, firing the <@link event flag expires>flag expires<@/link> event.
     // See also the <@link command unflag>unflag command<@/link>.
     // @Example
     // # Mark the player as a VIP.
@@ -52,7 +51,7 @@ public class FlagCommand extends AbstractCommand {
 
     @Override
     public String getArguments() {
-        return "<entity>/'server' <map of flags to set>";
+        return "<entity>/<list of entities>/'server' <map of flags to set>";
     }
 
     @Override
@@ -68,50 +67,44 @@ public class FlagCommand extends AbstractCommand {
     @Override
     public void execute(CommandQueue queue, CommandEntry entry) {
         AbstractTagObject ato = entry.getArgumentObject(queue, 0);
-        MapTag basic;
-        Entity entity = null;
-        TimeTag tt = null;
+        long expiry = FlagTable.NEVER;
         if (entry.namedArgs.containsKey("duration")) {
             DurationTag duration = DurationTag.getFor(queue.error, entry.getNamedArgumentObject(queue, "duration"));
-            LocalDateTime ldt = LocalDateTime.now(ZoneId.of("UTC")).plus((long) (duration.getInternal() * 1000), ChronoField.MILLI_OF_SECOND.getBaseUnit());
-            tt = new TimeTag(ldt);
+            expiry = System.currentTimeMillis() + (long) (duration.getInternal() * 1000);
         }
+        MapTag propertyMap = MapTag.getFor(queue.error, entry.getArgumentObject(queue, 1));
         if (CoreUtilities.toLowerCase(ato.toString()).equals("server")) {
-            basic = Denizen2Sponge.instance.serverFlagMap;
-        }
-        else {
-            EntityTag entityTag = EntityTag.getFor(queue.error, ato);
-            entity = entityTag.getInternal();
-            Optional<FlagMap> fm = entity.get(FlagHelper.FLAGMAP);
-            if (fm.isPresent()) {
-                basic = fm.get().flags;
-            }
-            else {
-                basic = new MapTag();
+            setFlags(Denizen2Sponge.instance.serverFlags, FlagExpiry.SERVER, propertyMap, expiry);
+            if (queue.shouldShowGood()) {
+                queue.outGood("Flagged the server with the specified data... (" + propertyMap.debug() + ")" + describeExpiry(expiry));
             }
+            return;
         }
-        MapTag propertyMap = MapTag.getFor(queue.error, entry.getArgumentObject(queue, 1));
-        for (Map.Entry<String, AbstractTagObject> dat : propertyMap.getInternal().entrySet()) {
-            MapTag gen = new MapTag();
-            gen.getInternal().put("value", dat.getValue());
-            if (tt != null) {
-                gen.getInternal().put("duration", tt);
-            }
-            basic.getInternal().put(CoreUtilities.toLowerCase(dat.getKey()), gen);
+        boolean isList = ato instanceof ListTag;
+        for (AbstractTagObject target : isList ? ((ListTag) ato).getInternal() : Collections.singletonList(ato)) {
+            Entity entity = EntityTag.getFor(queue.error, target).getInternal();
+            setFlags(FlagCache.getModifiableFlags(entity), entity.getUniqueId(), propertyMap, expiry);
         }
-        if (entity != null) {
-            entity.offer(new FlagMapDataImpl(new FlagMap(basic)));
-            if (queue.shouldShowGood()) {
-                queue.outGood("Flagged the entity "
-                        + ColorSet.emphasis + new EntityTag(entity).debug() + ColorSet.good
-                        + " with the specified data... (" + propertyMap.debug() + ")"
-                        + (tt == null ? " For unlimited time. " : " Until time: " + tt.debug()));
-            }
+        if (queue.shouldShowGood()) {
+            queue.outGood("Flagged the " + (isList ? "entities " : "entity ")
+                    + ColorSet.emphasis + (isList ? ato.debug() : EntityTag.getFor(queue.error, ato).debug()) + ColorSet.good
+                    + " with the specified data... (" + propertyMap.debug() + ")" + describeExpiry(expiry));
         }
-        else {
-            if (queue.shouldShowGood()) {
-                queue.outGood("Flagged the server with the specified data... (" + propertyMap.debug() + ")"
-                        + (tt == null ? " For unlimited time. " : " Until time: " + tt.debug()));
+    }
+
+    private static String describeExpiry(long expiry) {
+        return expiry == FlagTable.NEVER ? " For unlimited time. " : " Until time: " + FlagExpiry.toTime(expiry).debug();
+    }
+
+    private static void setFlags(FlagTable flags, Object holder, MapTag toSet, long expiry) {
+        for (Map.Entry<String, AbstractTagObject> dat : toSet.getInternal().entrySet()) {
+            String flag = CoreUtilities.toLowerCase(dat.getKey());
+            flags.put(flag, dat.getValue(), expiry);
+            if (expiry == FlagTable.NEVER) {
+                FlagExpiry.untrack(holder, flag);
+            }
+            else {
+                FlagExpiry.track(holder, flag, expiry);
             }
         }
     }
@@ -7,6 +7,7 @@ import com.denizenscript.denizen2core.tags.objects.NumberTag;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.Living;
 
@@ -101,6 +102,7 @@ public class HealCommand extends AbstractCommand {
             queue.handleError(entry, "Invalid health type: '" + type + "'!");
             return;
         }
+        TagMemo.invalidate(ent.getUniqueId());
         if (queue.shouldShowGood()) {
             queue.outGood(ColorSet.emphasis + (set ? "Setting" : "Increasing") + ColorSet.good + " the "
                     + ColorSet.emphasis + type + ColorSet.good + " health of entity '" + ColorSet.emphasis
@@ -8,6 +8,7 @@ import com.denizenscript.denizen2core.tags.objects.NumberTag;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.cause.entity.damage.DamageType;
 import org.spongepowered.api.event.cause.entity.damage.DamageTypes;
@@ -97,5 +98,6 @@ public class HurtCommand extends AbstractCommand {
                     + " for " + ColorSet.emphasis + dam.debug() + ColorSet.good + " points of damage!");
         }
         ent.getInternal().damage(dam.getInternal(), build.build());
+        TagMemo.invalidate(ent.getInternal().getUniqueId());
     }
 }
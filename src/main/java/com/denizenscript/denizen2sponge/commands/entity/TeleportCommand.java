@@ -6,6 +6,7 @@ import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 
 public class TeleportCommand extends AbstractCommand {
 
@@ -69,6 +70,6 @@ public class TeleportCommand extends AbstractCommand {
                         + " to location " + ColorSet.emphasis + loc.debug() + ColorSet.good + "!");
             }
         }
-
+        TagMemo.invalidate(ent.getInternal().getUniqueId());
     }
 }
@@ -5,31 +5,30 @@ import com.denizenscript.denizen2core.commands.CommandEntry;
 import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.ListTag;
-import com.denizenscript.denizen2core.tags.objects.MapTag;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagMapDataImpl;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagCache;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagExpiry;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.entity.Entity;
 
-import java.util.Optional;
+import java.util.Collections;
 
 public class UnflagCommand extends AbstractCommand {
 
     // <--[command]
     // @Since 0.3.0
     // @Name unflag
-    // @Arguments <entity>/'server' <list of flags to remove>
+    // @Arguments <entity>/<list of entities>/'server' <list of flags to remove>
     // @Short removes a list of flags from an entity.
-    // @Updated 2017/02/15
+    // @Updated 2026/10/17
     // @Group Entity
     // @Minimum 2
     // @Maximum 2
     // @Description
-    // Removes flags from an entity (including players, etc.).
+    // Removes flags from an entity (including players, etc.), or from each entity in a list.
     // See also the <@link command flag>flag command<@/link>.
     // @Example
     // # Mark the player as no longer VIP.
@@ -43,7 +42,7 @@ public class UnflagCommand extends AbstractCommand {
 
     @Override
     public String getArguments() {
-        return "<entity>/'server' <list of flags to remove>";
+        return "<entity>/<list of entities>/'server' <list of flags to remove>";
     }
 
     @Override
@@ -59,38 +58,32 @@ public class UnflagCommand extends AbstractCommand {
     @Override
     public void execute(CommandQueue queue, CommandEntry entry) {
         ListTag toRemove = ListTag.getFor(queue.error, entry.getArgumentObject(queue, 1));
-        Entity entity = null;
         AbstractTagObject ato = entry.getArgumentObject(queue, 0);
-        MapTag basic;
         if (CoreUtilities.toLowerCase(ato.toString()).equals("server")) {
-            basic = Denizen2Sponge.instance.serverFlagMap;
-        }
-        else {
-            EntityTag entityTag = EntityTag.getFor(queue.error, ato);
-            entity = entityTag.getInternal();
-            Optional<FlagMap> fm = entity.get(FlagHelper.FLAGMAP);
-            if (fm.isPresent()) {
-                basic = fm.get().flags;
-            }
-            else {
-                basic = new MapTag();
+            for (AbstractTagObject dat : toRemove.getInternal()) {
+                String flag = CoreUtilities.toLowerCase(dat.toString());
+                Denizen2Sponge.instance.serverFlags.remove(flag);
+                FlagExpiry.untrack(FlagExpiry.SERVER, flag);
             }
-        }
-        for (AbstractTagObject dat : toRemove.getInternal()) {
-            basic.getInternal().remove(CoreUtilities.toLowerCase(dat.toString()));
-        }
-        if (entity != null) {
-            entity.offer(new FlagMapDataImpl(new FlagMap(basic)));
             if (queue.shouldShowGood()) {
-                queue.outGood("Removed from the entity "
-                        + ColorSet.emphasis + new EntityTag(entity).debug() + ColorSet.good
-                        + " the specified flags... (" + toRemove.debug() + ")");
+                queue.outGood("Removed from the server the specified flags... (" + toRemove.debug() + ")");
             }
+            return;
         }
-        else {
-            if (queue.shouldShowGood()) {
-                queue.outGood("Removed from the server the specified flags... (" + toRemove.debug() + ")");
+        boolean isList = ato instanceof ListTag;
+        for (AbstractTagObject target : isList ? ((ListTag) ato).getInternal() : Collections.singletonList(ato)) {
+            Entity entity = EntityTag.getFor(queue.error, target).getInternal();
+            FlagTable flags = FlagCache.getModifiableFlags(entity);
+            for (AbstractTagObject dat : toRemove.getInternal()) {
+                String flag = CoreUtilities.toLowerCase(dat.toString());
+                flags.remove(flag);
+                FlagExpiry.untrack(entity.getUniqueId(), flag);
             }
         }
+        if (queue.shouldShowGood()) {
+            queue.outGood("Removed from the " + (isList ? "entities " : "entity ")
+                    + ColorSet.emphasis + (isList ? ato.debug() : EntityTag.getFor(queue.error, ato).debug()) + ColorSet.good
+                    + " the specified flags... (" + toRemove.debug() + ")");
+        }
     }
 }
@@ -5,6 +5,7 @@ import com.denizenscript.denizen2core.commands.CommandEntry;
 import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.gamemode.GameMode;
@@ -60,6 +61,7 @@ public class GamemodeCommand extends AbstractCommand {
             return;
         }
         player.getInternal().offer(Keys.GAME_MODE, type.get());
+        TagMemo.invalidate(player.getInternal().getUniqueId());
         if (queue.shouldShowGood()) {
             queue.outGood("Set gamemode of player '" + ColorSet.emphasis + player.debug()
                     + ColorSet.good + "' to: " + ColorSet.emphasis + type.get().getName() + ColorSet.good + "!");
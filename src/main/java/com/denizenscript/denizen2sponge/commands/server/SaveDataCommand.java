@@ -4,6 +4,7 @@ import com.denizenscript.denizen2core.commands.AbstractCommand;
 import com.denizenscript.denizen2core.commands.CommandEntry;
 import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagCache;
 
 public class SaveDataCommand extends AbstractCommand {
 
@@ -45,6 +46,7 @@ public class SaveDataCommand extends AbstractCommand {
 
     @Override
     public void execute(CommandQueue queue, CommandEntry entry) {
+        FlagCache.flushAll();
         Denizen2Sponge.instance.saveServerFlags();
         if (queue.shouldShowGood()) {
             queue.outGood("Saved all data.");
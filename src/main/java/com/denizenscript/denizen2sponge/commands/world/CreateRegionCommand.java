@@ -0,0 +1,63 @@
+package com.denizenscript.denizen2sponge.commands.world;
+
+import com.denizenscript.denizen2core.commands.AbstractCommand;
+import com.denizenscript.denizen2core.commands.CommandEntry;
+import com.denizenscript.denizen2core.commands.CommandQueue;
+import com.denizenscript.denizen2core.utilities.CoreUtilities;
+import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
+import com.denizenscript.denizen2sponge.tags.objects.CuboidTag;
+import com.denizenscript.denizen2sponge.utilities.Regions;
+
+public class CreateRegionCommand extends AbstractCommand {
+
+    // <--[command]
+    // @Since 0.5.5
+    // @Name createregion
+    // @Arguments <name> <cuboid>
+    // @Short creates a named region.
+    // @Updated 2026/10/17
+    // @Group World
+    // @Minimum 2
+    // @Maximum 2
+    // @Description
+    // Creates a named region covering the specified cuboid.
+    // Regions persist across restarts, and can be used with the "region:" switch of the area events
+    // and with the <@link tag LocationTag.regions>LocationTag.regions<@/link> tag.
+    // Inputting an already used name will override it.
+    // Related commands: <@link command removeregion>removeregion<@/link>.
+    // @Example
+    // # This example creates a region named "spawn".
+    // - createregion spawn -10,0,-10/10,255,10/world
+    // -->
+
+    @Override
+    public String getName() {
+        return "createregion";
+    }
+
+    @Override
+    public String getArguments() {
+        return "<name> <cuboid>";
+    }
+
+    @Override
+    public int getMinimumArguments() {
+        return 2;
+    }
+
+    @Override
+    public int getMaximumArguments() {
+        return 2;
+    }
+
+    @Override
+    public void execute(CommandQueue queue, CommandEntry entry) {
+        String name = CoreUtilities.toLowerCase(entry.getArgumentObject(queue, 0).toString());
+        CuboidTag cuboid = CuboidTag.getFor(queue.error, entry.getArgumentObject(queue, 1));
+        Regions.define(name, cuboid.getInternal());
+        Regions.save();
+        if (queue.shouldShowGood()) {
+            queue.outGood("Created region '" + ColorSet.emphasis + name + ColorSet.good + "' as " + ColorSet.emphasis + cuboid.debug());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.denizenscript.denizen2core.tags.objects.MapTag;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.utilities.DataKeys;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.world.BlockChangeFlags;
@@ -69,6 +70,7 @@ public class EditBlockCommand extends AbstractCommand {
             bs = (BlockState) DataKeys.with(bs, found, mapEntry.getValue(), queue.error);
         }
         loc.setBlock(bs, BlockChangeFlags.NONE);
+        TagMemo.invalidate(loc);
         if (queue.shouldShowGood()) {
             queue.outGood("Edited the location " + ColorSet.emphasis + locationTag.debug() + ColorSet.good
                     + " to have the new following properties: " + propertyMap.debug());
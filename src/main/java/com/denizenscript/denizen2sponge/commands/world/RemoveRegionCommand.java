@@ -0,0 +1,61 @@
+package com.denizenscript.denizen2sponge.commands.world;
+
+import com.denizenscript.denizen2core.commands.AbstractCommand;
+import com.denizenscript.denizen2core.commands.CommandEntry;
+import com.denizenscript.denizen2core.commands.CommandQueue;
+import com.denizenscript.denizen2core.utilities.CoreUtilities;
+import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
+import com.denizenscript.denizen2sponge.utilities.Regions;
+
+public class RemoveRegionCommand extends AbstractCommand {
+
+    // <--[command]
+    // @Since 0.5.5
+    // @Name removeregion
+    // @Arguments <name>
+    // @Short removes a named region.
+    // @Updated 2026/10/17
+    // @Group World
+    // @Minimum 1
+    // @Maximum 1
+    // @Description
+    // Removes the named region.
+    // Related commands: <@link command createregion>createregion<@/link>.
+    // @Example
+    // # This example removes the region named "spawn".
+    // - removeregion spawn
+    // -->
+
+    @Override
+    public String getName() {
+        return "removeregion";
+    }
+
+    @Override
+    public String getArguments() {
+        return "<name>";
+    }
+
+    @Override
+    public int getMinimumArguments() {
+        return 1;
+    }
+
+    @Override
+    public int getMaximumArguments() {
+        return 1;
+    }
+
+    @Override
+    public void execute(CommandQueue queue, CommandEntry entry) {
+        String name = CoreUtilities.toLowerCase(entry.getArgumentObject(queue, 0).toString());
+        if (!Regions.remove(name)) {
+            queue.handleError(entry, "The region '" + name + "' doesn't exist!");
+            return;
+        }
+        Regions.save();
+        if (queue.shouldShowGood()) {
+            queue.outGood("Removed region '" + ColorSet.emphasis + name + ColorSet.good + "'.");
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.denizenscript.denizen2core.tags.objects.ListTag;
 import com.denizenscript.denizen2core.utilities.debugging.ColorSet;
 import com.denizenscript.denizen2sponge.tags.objects.BlockTypeTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import org.spongepowered.api.world.BlockChangeFlags;
 
 public class SetBlockCommand extends AbstractCommand {
@@ -72,6 +73,7 @@ public class SetBlockCommand extends AbstractCommand {
             LocationTag loc = LocationTag.getFor(queue.error, ato);
             loc.getInternal().world.setBlockType(loc.getInternal().toVector3i(), type.getInternal(),
                     phys ? BlockChangeFlags.ALL : BlockChangeFlags.NONE);
+            TagMemo.invalidate(loc.getInternal().toLocation());
         }
         // TODO: "Cause" argument!
     }
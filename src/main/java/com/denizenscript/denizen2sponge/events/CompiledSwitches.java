@@ -0,0 +1,108 @@
+package com.denizenscript.denizen2sponge.events;
+
+import com.denizenscript.denizen2core.events.ScriptEvent;
+import com.denizenscript.denizen2sponge.tags.objects.ItemTag;
+import com.denizenscript.denizen2sponge.utilities.UtilCuboid;
+import com.denizenscript.denizen2sponge.utilities.UtilLocation;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Holds event switch values that have been parsed once per script event path,
+ * so that matching a firing event does not need to re-parse or re-resolve them.
+ */
+public class CompiledSwitches {
+
+    private static final Map<ScriptEvent.ScriptEventData, Map<String, Object>> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Drops all compiled switches. Called whenever scripts are reloaded.
+     */
+    public static void clear() {
+        compiled.clear();
+    }
+
+    /**
+     * Gets the compiled form of a switch, compiling it if this is the first time it has been requested.
+     * The switch must be present on the script event data.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(ScriptEvent.ScriptEventData data, String tname, Function<String, T> compiler) {
+        Map<String, Object> map = compiled.computeIfAbsent(data, (k) -> new ConcurrentHashMap<>());
+        return (T) map.computeIfAbsent(tname, compiler::apply);
+    }
+
+    /**
+     * A set of catalog entries, compared by identity.
+     */
+    public static class CatalogSet<T> {
+
+        public final Set<T> types = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public boolean contains(T type) {
+            return types.contains(type);
+        }
+    }
+
+    /**
+     * A set of lowercased texts.
+     */
+    public static class TextSet {
+
+        public final HashSet<String> texts = new HashSet<>();
+
+        public boolean contains(String text) {
+            return texts.contains(text);
+        }
+    }
+
+    /**
+     * A set of world unique IDs. Worlds are tracked by ID so that a reloaded world still matches.
+     */
+    public static class WorldSet {
+
+        public final HashSet<UUID> worlds = new HashSet<>();
+
+        public boolean contains(UUID world) {
+            return worlds.contains(world);
+        }
+    }
+
+    /**
+     * An array of pre-parsed cuboids.
+     */
+    public static class CuboidArray {
+
+        public UtilCuboid[] cuboids;
+
+        public boolean contains(UtilLocation point) {
+            for (UtilCuboid cuboid : cuboids) {
+                if (point.x >= cuboid.min.x && point.y >= cuboid.min.y && point.z >= cuboid.min.z
+                        && point.x <= cuboid.max.x && point.y <= cuboid.max.y && point.z <= cuboid.max.z) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A set of item requirements, all of which must pass.
+     */
+    public static class ItemMatcher {
+
+        public final List<Predicate<ItemTag>> requirements = new ArrayList<>();
+
+        public boolean matches(ItemTag item) {
+            for (Predicate<ItemTag> requirement : requirements) {
+                if (!requirement.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -4,17 +4,17 @@ import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.IntegerTag;
 import com.denizenscript.denizen2core.tags.objects.ListTag;
-import com.denizenscript.denizen2core.tags.objects.MapTag;
 import com.denizenscript.denizen2core.utilities.Action;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2sponge.spongescripts.ItemScript;
 import com.denizenscript.denizen2sponge.tags.objects.*;
+import com.denizenscript.denizen2sponge.utilities.UtilCuboid;
 import com.denizenscript.denizen2sponge.utilities.UtilLocation;
 import com.denizenscript.denizen2sponge.utilities.Utilities;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.CatalogType;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.data.type.HandType;
 import org.spongepowered.api.entity.EntityType;
@@ -23,6 +23,7 @@ import org.spongepowered.api.item.ItemType;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.weather.Weather;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,12 +37,20 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            if (BlockTypeTag.getFor(error, ato).getInternal().equals(btype)) {
-                return true;
+        return getBlockTypes(data, error, tname).contains(btype);
+    }
+
+    public static CompiledSwitches.CatalogSet<BlockType> getBlockTypes(ScriptEvent.ScriptEventData data, Action<String> error, String tname) {
+        return CompiledSwitches.get(data, tname, (n) -> {
+            CompiledSwitches.CatalogSet<BlockType> res = new CompiledSwitches.CatalogSet<>();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                BlockTypeTag type = BlockTypeTag.getFor(error, ato);
+                if (type != null) {
+                    res.types.add(type.getInternal());
+                }
             }
-        }
-        return false;
+            return res;
+        });
     }
 
     public static boolean checkEntityType(EntityType etype, ScriptEvent.ScriptEventData data, Action<String> error) {
@@ -52,12 +61,20 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            if (EntityTypeTag.getFor(error, ato).getInternal().equals(etype)) {
-                return true;
+        return getEntityTypes(data, error, tname).contains(etype);
+    }
+
+    public static CompiledSwitches.CatalogSet<EntityType> getEntityTypes(ScriptEvent.ScriptEventData data, Action<String> error, String tname) {
+        return CompiledSwitches.get(data, tname, (n) -> {
+            CompiledSwitches.CatalogSet<EntityType> res = new CompiledSwitches.CatalogSet<>();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                EntityTypeTag type = EntityTypeTag.getFor(error, ato);
+                if (type != null) {
+                    res.types.add(type.getInternal());
+                }
             }
-        }
-        return false;
+            return res;
+        });
     }
 
     public static boolean checkItemType(ItemType itype, ScriptEvent.ScriptEventData data, Action<String> error) {
@@ -68,12 +85,20 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            if (ItemTypeTag.getFor(error, ato).getInternal().equals(itype)) {
-                return true;
+        CompiledSwitches.CatalogSet<ItemType> set = CompiledSwitches.get(data, tname,
+                (n) -> compileItemTypes(ListTag.getFor(error, data.switches.get(n)), error));
+        return set.contains(itype);
+    }
+
+    private static CompiledSwitches.CatalogSet<ItemType> compileItemTypes(ListTag list, Action<String> error) {
+        CompiledSwitches.CatalogSet<ItemType> res = new CompiledSwitches.CatalogSet<>();
+        for (AbstractTagObject ato : list.getInternal()) {
+            ItemTypeTag type = ItemTypeTag.getFor(error, ato);
+            if (type != null) {
+                res.types.add(type.getInternal());
             }
         }
-        return false;
+        return res;
     }
 
     public static boolean checkWorld(World world, ScriptEvent.ScriptEventData data, Action<String> error) {
@@ -84,24 +109,34 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            if (WorldTag.getFor(error, ato).getInternal().equals(world)) {
-                return true;
+        CompiledSwitches.WorldSet set = CompiledSwitches.get(data, tname, (n) -> {
+            CompiledSwitches.WorldSet res = new CompiledSwitches.WorldSet();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                WorldTag wtag = WorldTag.getFor(error, ato);
+                if (wtag != null) {
+                    res.worlds.add(wtag.getInternal().getUniqueId());
+                }
             }
-        }
-        return false;
+            return res;
+        });
+        return set.contains(world.getUniqueId());
     }
 
     public static boolean checkString(String inpStr, ScriptEvent.ScriptEventData data, Action<String> error, String tname) {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            if (CoreUtilities.toLowerCase(ato.toString()).equals(inpStr)) {
-                return true;
+        return getStrings(data, error, tname).contains(inpStr);
+    }
+
+    public static CompiledSwitches.TextSet getStrings(ScriptEvent.ScriptEventData data, Action<String> error, String tname) {
+        return CompiledSwitches.get(data, tname, (n) -> {
+            CompiledSwitches.TextSet res = new CompiledSwitches.TextSet();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                res.texts.add(CoreUtilities.toLowerCase(ato.toString()));
             }
-        }
-        return false;
+            return res;
+        });
     }
 
     public static boolean checkCuboid(UtilLocation location, ScriptEvent.ScriptEventData data, Action<String> error) {
@@ -112,12 +147,33 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            if (CuboidTag.getFor(error, ato).contains(location)) {
-                return true;
+        return getCuboids(data, error, tname).contains(location);
+    }
+
+    public static CompiledSwitches.CuboidArray getCuboids(ScriptEvent.ScriptEventData data, Action<String> error, String tname) {
+        return CompiledSwitches.get(data, tname, (n) -> {
+            List<UtilCuboid> cuboids = new ArrayList<>();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                CuboidTag cuboid = CuboidTag.getFor(error, ato);
+                if (cuboid != null) {
+                    cuboids.add(cuboid.getInternal());
+                }
             }
+            CompiledSwitches.CuboidArray res = new CompiledSwitches.CuboidArray();
+            res.cuboids = cuboids.toArray(new UtilCuboid[cuboids.size()]);
+            return res;
+        });
+    }
+
+    public static boolean checkWeather(World world, ScriptEvent.ScriptEventData data, Action<String> error) {
+        return checkWeather(world, data, error, "weather");
+    }
+
+    public static boolean checkWeather(World world, ScriptEvent.ScriptEventData data, Action<String> error, String tname) {
+        if (!data.switches.containsKey(tname)) {
+            return true;
         }
-        return false;
+        return checkWeather(Utilities.getIdWithoutDefaultPrefix(world.getWeather().getId()), data, error, tname);
     }
 
     public static boolean checkWeather(String weather, ScriptEvent.ScriptEventData data, Action<String> error) {
@@ -148,17 +204,20 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            Optional<CatalogType> opt = Sponge.getRegistry().getType(clazz, ato.toString());
-            if (!opt.isPresent()) {
-                error.run("Invalid " + clazz.getSimpleName() + " type: '" + ato.debug() + "'!");
-                return false;
-            }
-            else if (Utilities.getIdWithoutDefaultPrefix(opt.get().getId()).equals(type)) {
-                return true;
+        CompiledSwitches.TextSet set = CompiledSwitches.get(data, tname, (n) -> {
+            CompiledSwitches.TextSet res = new CompiledSwitches.TextSet();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                CatalogType catalogType = (CatalogType) Utilities.getTypeWithDefaultPrefix(clazz, ato.toString());
+                if (catalogType == null) {
+                    error.run("Invalid " + clazz.getSimpleName() + " type: '" + ato.debug() + "'!");
+                }
+                else {
+                    res.texts.add(Utilities.getIdWithoutDefaultPrefix(catalogType.getId()));
+                }
             }
-        }
-        return false;
+            return res;
+        });
+        return set.contains(type);
     }
 
     // <--[explanation]
@@ -189,56 +248,53 @@ public class D2SpongeEventHelper {
         if (!data.switches.containsKey(tname)) {
             return true;
         }
-        for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(tname)).getInternal()) {
-            String val = ato.toString();
-            List<String> vals = CoreUtilities.split(val, ':', 1);
-            if (vals.size() < 2) {
-                continue;
-            }
-            String t = CoreUtilities.toLowerCase(vals.get(0));
-            String v = vals.get(1);
-            if (t.equals("type")) {
-                boolean poss = false;
-                for (AbstractTagObject ato_sub : ListTag.getFor(error, v).getInternal()) {
-                    if (itm.getInternal().getType().equals(ItemTypeTag.getFor(error, ato_sub).getInternal())) {
-                        poss = true;
-                    }
+        CompiledSwitches.ItemMatcher matcher = CompiledSwitches.get(data, tname, (n) -> {
+            CompiledSwitches.ItemMatcher res = new CompiledSwitches.ItemMatcher();
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                String val = ato.toString();
+                List<String> vals = CoreUtilities.split(val, ':', 1);
+                if (vals.size() < 2) {
+                    continue;
                 }
-                if (!poss) {
-                    return false;
+                String t = CoreUtilities.toLowerCase(vals.get(0));
+                String v = vals.get(1);
+                if (t.equals("type")) {
+                    CompiledSwitches.CatalogSet<ItemType> types = compileItemTypes(ListTag.getFor(error, v), error);
+                    res.requirements.add((item) -> types.contains(item.getInternal().getType()));
                 }
-            }
-            else if (t.equals("quantity")) {
-                if (itm.getInternal().getQuantity() < IntegerTag.getFor(error, v).getInternal()) {
-                    return false;
+                else if (t.equals("quantity")) {
+                    int quantity = (int) IntegerTag.getFor(error, v).getInternal();
+                    res.requirements.add((item) -> item.getInternal().getQuantity() >= quantity);
                 }
-            }
-            else if (t.equals("script")) {
-                ItemScript src = itm.getSourceScript();
-                if (src == null || !src.itemScriptName.equals(CoreUtilities.toLowerCase(v))) {
-                    return false;
-                }
-            }
-            else if (t.equals("flagged")) {
-                boolean poss = false;
-                MapTag flags;
-                Optional<FlagMap> fm = itm.getInternal().get(FlagHelper.FLAGMAP);
-                if (fm.isPresent()) {
-                    flags = fm.get().flags;
+                else if (t.equals("script")) {
+                    String script = CoreUtilities.toLowerCase(v);
+                    res.requirements.add((item) -> {
+                        ItemScript src = item.getSourceScript();
+                        return src != null && src.itemScriptName.equals(script);
+                    });
                 }
-                else {
-                    flags = new MapTag();
-                }
-                for (AbstractTagObject ato_sub : ListTag.getFor(error, v).getInternal()) {
-                    if (flags.getInternal().containsKey(CoreUtilities.toLowerCase(ato_sub.toString()))) {
-                        poss = true;
+                else if (t.equals("flagged")) {
+                    List<String> flagNames = new ArrayList<>();
+                    for (AbstractTagObject ato_sub : ListTag.getFor(error, v).getInternal()) {
+                        flagNames.add(CoreUtilities.toLowerCase(ato_sub.toString()));
                     }
-                }
-                if (!poss) {
-                    return false;
+                    res.requirements.add((item) -> {
+                        Optional<FlagMap> fm = item.getInternal().get(FlagHelper.FLAGMAP);
+                        if (!fm.isPresent()) {
+                            return false;
+                        }
+                        FlagTable flags = fm.get().flags;
+                        for (String flagName : flagNames) {
+                            if (flags.contains(flagName)) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    });
                 }
             }
-        }
-        return true;
+            return res;
+        });
+        return matcher.matches(itm);
     }
 }
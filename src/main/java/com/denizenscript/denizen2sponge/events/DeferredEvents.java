@@ -0,0 +1,119 @@
+package com.denizenscript.denizen2sponge.events;
+
+import com.denizenscript.denizen2core.events.ScriptEvent;
+import com.denizenscript.denizen2core.tags.objects.BooleanTag;
+import com.denizenscript.denizen2core.utilities.Action;
+import com.denizenscript.denizen2core.utilities.debugging.Debug;
+import com.denizenscript.denizen2sponge.Settings;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Queues snapshots of events for script paths that asked to be deferred, and runs them from the tick loop
+ * within a per-tick time budget.
+ */
+public class DeferredEvents {
+
+    // <--[explanation]
+    // @Since 0.5.5
+    // @Name Deferred Events
+    // @Group Events
+    // @Description
+    // Some events support a "deferred:" switch.
+    // When set to true, the script path will not run while the event is happening, but instead a snapshot of the
+    // event's context is queued and the path runs during a following server tick.
+    // Queued events are worked through for at most a configurable amount of milliseconds per tick
+    // (see "Events.Deferred Budget" in the config), so that a burst of events is spread over several ticks.
+    //
+    // The snapshot is taken after all other paths of the event ran, so deferred paths see the context as changed
+    // by their determinations, and are not run at all if the event ended up cancelled.
+    // As the event is already over by the time a deferred path runs, deferred paths cannot cancel the event
+    // or apply any determinations.
+    // Queued events are discarded when scripts are reloaded.
+    //
+    // Deferred paths always run on the main server thread, even for events that Sponge fires from other threads.
+    // This makes them a good fit for scripts that only observe an event, such as logging or counting.
+    // -->
+
+    private static final ArrayDeque<ScriptEvent> queue = new ArrayDeque<>();
+
+    private static final Set<String> deferredEvents = new HashSet<>();
+
+    /**
+     * Forgets all deferred script paths and queued events. Called whenever scripts are reloaded.
+     */
+    public static void clear() {
+        synchronized (queue) {
+            queue.clear();
+            deferredEvents.clear();
+        }
+    }
+
+    public static boolean isDeferred(ScriptEvent.ScriptEventData data, Action<String> error) {
+        if (!data.switches.containsKey("deferred")) {
+            return false;
+        }
+        return CompiledSwitches.get(data, "deferred",
+                (n) -> BooleanTag.getFor(error, data.switches.get(n)).getInternal());
+    }
+
+    /**
+     * Notes whether a script path is deferred. Call from couldMatch when the path belongs to the event.
+     */
+    public static void register(ScriptEvent event, ScriptEvent.ScriptEventData data, Action<String> error) {
+        if (isDeferred(data, error)) {
+            synchronized (queue) {
+                deferredEvents.add(event.getName());
+            }
+        }
+    }
+
+    /**
+     * Returns whether any script path of the event is deferred, meaning a snapshot should be queued for it.
+     */
+    public static boolean hasDeferred(ScriptEvent event) {
+        synchronized (queue) {
+            return !deferredEvents.isEmpty() && deferredEvents.contains(event.getName());
+        }
+    }
+
+    /**
+     * Returns whether a script path should run in the current run of the event:
+     * deferred paths only run from the queue, and other paths only run immediately.
+     */
+    public static boolean checkTiming(boolean deferredRun, ScriptEvent.ScriptEventData data, Action<String> error) {
+        return isDeferred(data, error) == deferredRun;
+    }
+
+    public static void enqueue(ScriptEvent event) {
+        synchronized (queue) {
+            queue.add(event);
+        }
+    }
+
+    /**
+     * Runs queued events until the queue is empty or the configured time budget is used up.
+     * At least one event is run per tick, so the queue always makes progress.
+     */
+    public static void tick() {
+        long end = System.nanoTime() + (long) (Settings.deferredEventBudget() * 1000000);
+        do {
+            ScriptEvent event;
+            synchronized (queue) {
+                event = queue.poll();
+            }
+            if (event == null) {
+                return;
+            }
+            try {
+                event.run();
+            }
+            catch (Exception e) {
+                Debug.exception(e);
+            }
+        }
+        while (System.nanoTime() < end);
+    }
+}
@@ -0,0 +1,71 @@
+package com.denizenscript.denizen2sponge.events;
+
+import com.denizenscript.denizen2core.events.ScriptEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Hands out a reusable per-thread copy of a script event for each fire, instead of cloning the event every time.
+ * Fires that happen while the thread's copy is already in use (such as an event triggered from within a script
+ * handling the same event) fall back to a fresh clone.
+ */
+public class ScriptEventPool<T extends ScriptEvent> {
+
+    private static volatile int generation = 0;
+
+    /**
+     * Drops all reusable copies, so they get re-cloned from their templates. Called whenever scripts are reloaded.
+     */
+    public static void invalidateAll() {
+        generation++;
+    }
+
+    private static class Slot<T> {
+
+        T event;
+
+        int generation;
+
+        boolean busy;
+    }
+
+    private final ScriptEvent template;
+
+    private final Consumer<T> reset;
+
+    private final ThreadLocal<Slot<T>> slots = ThreadLocal.withInitial(Slot::new);
+
+    /**
+     * Constructs a pool for the given event. The reset action is run when a reused copy is released,
+     * and must clear every per-fire field the listener sets or lazily builds.
+     */
+    public ScriptEventPool(ScriptEvent template, Consumer<T> reset) {
+        this.template = template;
+        this.reset = reset;
+    }
+
+    /**
+     * Gets an event instance to fire. Must be paired with a call to release, in a finally block.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        Slot<T> slot = slots.get();
+        if (slot.busy) {
+            return (T) template.clone();
+        }
+        if (slot.event == null || slot.generation != generation) {
+            slot.event = (T) template.clone();
+            slot.generation = generation;
+        }
+        slot.busy = true;
+        return slot.event;
+    }
+
+    public void release(T event) {
+        Slot<T> slot = slots.get();
+        if (slot.event == event) {
+            reset.accept(event);
+            slot.busy = false;
+        }
+    }
+}
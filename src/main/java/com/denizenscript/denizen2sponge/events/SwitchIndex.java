@@ -0,0 +1,175 @@
+package com.denizenscript.denizen2sponge.events;
+
+import com.denizenscript.denizen2core.events.ScriptEvent;
+import com.denizenscript.denizen2core.tags.objects.BooleanTag;
+import com.denizenscript.denizen2core.utilities.Action;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Indexes the script paths of a single event by the values of one discriminating switch,
+ * so that a firing event only has to consider the paths that could possibly match it.
+ */
+public class SwitchIndex<T> {
+
+    // <--[explanation]
+    // @Since 0.5.5
+    // @Name Ignore Cancelled Switch For Events
+    // @Group Events
+    // @Description
+    // Some cancellable events support an "ignore_cancelled:" switch.
+    // When set to true, the script path will not run at all for events that were already cancelled
+    // by the time they reach Denizen.
+    //
+    // When every script path listening to such an event ignores cancelled events, cancelled events are
+    // skipped before any work is done for them.
+    // -->
+
+    private static final List<SwitchIndex<?>> allIndices = new ArrayList<>();
+
+    /**
+     * Forgets all registered script paths of all indices. Called whenever scripts are reloaded.
+     */
+    public static void clearAll() {
+        synchronized (allIndices) {
+            for (SwitchIndex<?> index : allIndices) {
+                index.clear();
+            }
+        }
+    }
+
+    public static boolean ignoresCancelled(ScriptEvent.ScriptEventData data, Action<String> error) {
+        return data.switches.containsKey("ignore_cancelled")
+                && BooleanTag.getFor(error, data.switches.get("ignore_cancelled")).getInternal();
+    }
+
+    public final String switchName;
+
+    private final BiFunction<ScriptEvent.ScriptEventData, Action<String>, Collection<T>> keyCompiler;
+
+    private final Set<ScriptEvent.ScriptEventData> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * Constructs an index over the given switch name.
+     * The key compiler returns all switch values of a script path, and is only called for paths that have the switch.
+     */
+    public SwitchIndex(String switchName, BiFunction<ScriptEvent.ScriptEventData, Action<String>, Collection<T>> keyCompiler) {
+        this.switchName = switchName;
+        this.keyCompiler = keyCompiler;
+        synchronized (allIndices) {
+            allIndices.add(this);
+        }
+    }
+
+    /**
+     * Adds a script path to the index. Call from couldMatch when the path belongs to the event.
+     */
+    public synchronized void register(ScriptEvent.ScriptEventData data) {
+        if (registered.add(data)) {
+            snapshot = null;
+        }
+    }
+
+    public synchronized void clear() {
+        registered.clear();
+        snapshot = null;
+    }
+
+    /**
+     * Gets the set of script paths that could match an event with the given switch value.
+     * The returned set is shared and must not be modified.
+     * Returns null if no script paths were registered, in which case no filtering should be done.
+     */
+    public Set<ScriptEvent.ScriptEventData> getCandidates(T key, boolean cancelled, Action<String> error) {
+        Snapshot<T> snap = snapshot;
+        if (snap == null) {
+            snap = build(error);
+        }
+        if (snap.entries.isEmpty()) {
+            return null;
+        }
+        if (!snap.allKeys.contains(key)) {
+            return cancelled ? snap.cancelledUnkeyed : snap.uncancelledUnkeyed;
+        }
+        Map<T, Set<ScriptEvent.ScriptEventData>> cache = cancelled ? snap.cancelledCache : snap.uncancelledCache;
+        Set<ScriptEvent.ScriptEventData> res = cache.get(key);
+        if (res == null) {
+            res = snap.collect(key, cancelled);
+            cache.put(key, res);
+        }
+        return res;
+    }
+
+    /**
+     * Gets all values of the indexed switch across all registered script paths.
+     * The returned set is replaced with a new instance whenever the index is rebuilt, and must not be modified.
+     */
+    public Set<T> getAllKeys(Action<String> error) {
+        Snapshot<T> snap = snapshot;
+        if (snap == null) {
+            snap = build(error);
+        }
+        return snap.allKeys;
+    }
+
+    private synchronized Snapshot<T> build(Action<String> error) {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        Snapshot<T> snap = new Snapshot<>();
+        for (ScriptEvent.ScriptEventData data : registered) {
+            Entry<T> entry = new Entry<>();
+            entry.data = data;
+            entry.ignoreCancelled = ignoresCancelled(data, error);
+            if (data.switches.containsKey(switchName)) {
+                entry.keys = new HashSet<>(keyCompiler.apply(data, error));
+            }
+            snap.entries.add(entry);
+            if (entry.keys != null) {
+                snap.allKeys.addAll(entry.keys);
+            }
+        }
+        snap.cancelledUnkeyed = snap.collect(null, true);
+        snap.uncancelledUnkeyed = snap.collect(null, false);
+        snapshot = snap;
+        return snap;
+    }
+
+    private static class Entry<T> {
+
+        ScriptEvent.ScriptEventData data;
+
+        boolean ignoreCancelled;
+
+        Set<T> keys;
+    }
+
+    private static class Snapshot<T> {
+
+        final List<Entry<T>> entries = new ArrayList<>();
+
+        final Set<T> allKeys = new HashSet<>();
+
+        Set<ScriptEvent.ScriptEventData> cancelledUnkeyed;
+
+        Set<ScriptEvent.ScriptEventData> uncancelledUnkeyed;
+
+        final Map<T, Set<ScriptEvent.ScriptEventData>> cancelledCache = new ConcurrentHashMap<>();
+
+        final Map<T, Set<ScriptEvent.ScriptEventData>> uncancelledCache = new ConcurrentHashMap<>();
+
+        Set<ScriptEvent.ScriptEventData> collect(T key, boolean cancelled) {
+            Set<ScriptEvent.ScriptEventData> res = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Entry<T> entry : entries) {
+                if ((!cancelled || !entry.ignoreCancelled) && (entry.keys == null || (key != null && entry.keys.contains(key)))) {
+                    res.add(entry.data);
+                }
+            }
+            return res;
+        }
+    }
+}
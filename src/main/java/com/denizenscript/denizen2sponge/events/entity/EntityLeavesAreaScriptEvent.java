@@ -2,18 +2,21 @@ package com.denizenscript.denizen2sponge.events.entity;
 
 import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
-import com.denizenscript.denizen2core.tags.objects.ListTag;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
-import com.denizenscript.denizen2sponge.tags.objects.CuboidTag;
+import com.denizenscript.denizen2sponge.events.SwitchIndex;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
+import com.denizenscript.denizen2sponge.utilities.Regions;
+import com.denizenscript.denizen2sponge.utilities.UtilCuboid;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 public class EntityLeavesAreaScriptEvent extends ScriptEvent {
 
@@ -22,7 +25,7 @@ public class EntityLeavesAreaScriptEvent extends ScriptEvent {
     // @Events
     // entity leaves area
     //
-    // @Updated 2017/10/06
+    // @Updated 2026/10/17
     //
     // @Group Entity
     //
@@ -32,6 +35,7 @@ public class EntityLeavesAreaScriptEvent extends ScriptEvent {
     //
     // @Switch type (EntityTypeTag) checks the entity type.
     // @Switch cuboid (CuboidTag) checks the cuboid that was left.
+    // @Switch region (TextTag) checks the name of the region that was left.
     // @Switch weather (TextTag) checks the weather.
     //
     // @Context
@@ -50,34 +54,38 @@ public class EntityLeavesAreaScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("entity leaves area");
+        if (data.eventPath.startsWith("entity leaves area")) {
+            index.register(data);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        Boolean fromArea = false;
+        boolean fromArea = false;
         if (data.switches.containsKey("cuboid")) {
-            for (AbstractTagObject ato : ListTag.getFor(this::error, data.switches.get("cuboid")).getInternal()) {
-                CuboidTag cu = CuboidTag.getFor(this::error, ato);
-                if (cu.contains(fromPosition.getInternal()) && !cu.contains(toPosition.getInternal())) {
+            for (UtilCuboid cuboid : D2SpongeEventHelper.getCuboids(data, this::error, "cuboid").cuboids) {
+                if (left.contains(cuboid)) {
                     fromArea = true;
+                    break;
                 }
             }
         }
-        /*else if (data.switches.containsKey("ellipsoid")) {
-            for (AbstractTagObject ato : ListTag.getFor(this::error, data.switches.get("ellipsoid")).getInternal()) {
-                EllipsoidTag el = EllipsoidTag.getFor(this::error, ato);
-                if (el.contains(fromPosition.getInternal()) && !el.contains(toPosition.getInternal())) {
+        if (!fromArea && data.switches.containsKey("region")) {
+            for (String name : D2SpongeEventHelper.getStrings(data, this::error, "region").texts) {
+                UtilCuboid cuboid = Regions.getNamed(name);
+                if (cuboid != null && left.contains(cuboid)) {
                     fromArea = true;
+                    break;
                 }
             }
-        }*/
-        else {
+        }
+        if (!data.switches.containsKey("cuboid") && !data.switches.containsKey("region")) {
             error("Please specify an area!");
         }
         return fromArea && D2SpongeEventHelper.checkEntityType(entity.getInternal().getType(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                entity.getInternal().getLocation().getExtent().getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(entity.getInternal().getLocation().getExtent(), data, this::error);
     }
 
     public EntityTag entity;
@@ -88,6 +96,13 @@ public class EntityLeavesAreaScriptEvent extends ScriptEvent {
 
     public MoveEntityEvent internal;
 
+    public List<UtilCuboid> left;
+
+    public final SwitchIndex<UtilCuboid> index = new SwitchIndex<>("cuboid",
+            (data, error) -> Arrays.asList(D2SpongeEventHelper.getCuboids(data, error, "cuboid").cuboids));
+
+    public Set<UtilCuboid> contributed;
+
     @Override
     public void enable() {
         Sponge.getEventManager().registerListeners(Denizen2Sponge.instance, this);
@@ -109,8 +124,18 @@ public class EntityLeavesAreaScriptEvent extends ScriptEvent {
 
     @Listener
     public void onEntityLeavesArea(MoveEntityEvent evt) {
+        Set<UtilCuboid> cuboids = index.getAllKeys(this::error);
+        if (cuboids != contributed) {
+            Regions.setContributed(this, cuboids);
+            contributed = cuboids;
+        }
+        Regions.Transition transition = Regions.getTransition(evt);
+        if (transition.left.isEmpty()) {
+            return;
+        }
         EntityLeavesAreaScriptEvent event = (EntityLeavesAreaScriptEvent) clone();
         event.internal = evt;
+        event.left = transition.left;
         event.entity = new EntityTag(evt.getTargetEntity());
         event.toPosition = new LocationTag(evt.getToTransform().getLocation());
         event.fromPosition = new LocationTag(evt.getFromTransform().getLocation());
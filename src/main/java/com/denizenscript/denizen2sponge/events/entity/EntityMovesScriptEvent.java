@@ -2,19 +2,29 @@ package com.denizenscript.denizen2sponge.events.entity;
 
 import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.DurationTag;
+import com.denizenscript.denizen2core.tags.objects.NumberTag;
+import com.denizenscript.denizen2core.utilities.Action;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.events.CompiledSwitches;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.ScriptEventPool;
+import com.denizenscript.denizen2sponge.events.SwitchIndex;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 public class EntityMovesScriptEvent extends ScriptEvent {
 
@@ -22,19 +32,26 @@ public class EntityMovesScriptEvent extends ScriptEvent {
     // @Since 0.3.0
     // @Events
     // entity moves
+    // entity moves block
+    // player moves
+    // player moves block
     //
-    // @Updated 2016/10/25
+    // @Updated 2026/10/17
     //
     // @Group Entity
     //
     // @Cancellable true
     //
-    // @Triggers when an entity moves.
+    // @Triggers when an entity moves. The "block" variants only fire when the entity moves into a different block,
+    // and the "player" variants only fire for players.
     //
     // @Switch type (EntityTypeTag) checks the entity type.
     // @Switch world (WorldTag) checks the world.
     // @Switch cuboid (CuboidTag) checks the cuboid area.
     // @Switch weather (TextTag) checks the weather.
+    // @Switch ignore_cancelled (BooleanTag) sets whether the event is skipped when already cancelled.
+    // @Switch min_distance (NumberTag) checks that the entity moved at least this far.
+    // @Switch every (DurationTag) limits how often the event can fire for the same entity.
     //
     // @Context
     // entity (EntityTag) returns the entity that moved.
@@ -54,19 +71,94 @@ public class EntityMovesScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("entity moves");
+        if (data.eventPath.startsWith("entity moves") || data.eventPath.startsWith("player moves")) {
+            index.register(data);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        Entity ent = entity.getInternal();
+        Entity ent = internal.getTargetEntity();
         Location<World> loc = ent.getLocation();
         World world = loc.getExtent();
-        return D2SpongeEventHelper.checkEntityType(ent.getType(), data, this::error)
+        MoveFilter filter = getFilter(data, this::error);
+        if ((candidates == null || candidates.contains(data))
+                && filter.allows(internal, time)
+                && D2SpongeEventHelper.checkEntityType(ent.getType(), data, this::error)
                 && D2SpongeEventHelper.checkWorld(world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid((new LocationTag(loc)).getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(world, data, this::error)) {
+            filter.fired(ent, time);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The cheap movement requirements of a script path, checked before the event is cloned.
+     */
+    public static class MoveFilter {
+
+        public boolean playersOnly;
+
+        public boolean blockChange;
+
+        public double minDistanceSquared;
+
+        public long every;
+
+        public final Map<Entity, Long> lastFired = new WeakHashMap<>();
+
+        public boolean allows(MoveEntityEvent evt, long time) {
+            Entity ent = evt.getTargetEntity();
+            if (playersOnly && !(ent instanceof Player)) {
+                return false;
+            }
+            if (blockChange || minDistanceSquared > 0) {
+                Location<World> from = evt.getFromTransform().getLocation();
+                Location<World> to = evt.getToTransform().getLocation();
+                if (from.getExtent() == to.getExtent()) {
+                    if (blockChange && from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                            && from.getBlockZ() == to.getBlockZ()) {
+                        return false;
+                    }
+                    if (minDistanceSquared > 0 && from.getPosition().distanceSquared(to.getPosition()) < minDistanceSquared) {
+                        return false;
+                    }
+                }
+            }
+            if (every > 0) {
+                Long last = lastFired.get(ent);
+                if (last != null && time - last < every) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public void fired(Entity ent, long time) {
+            if (every > 0) {
+                lastFired.put(ent, time);
+            }
+        }
+    }
+
+    public static MoveFilter getFilter(ScriptEventData data, Action<String> error) {
+        return CompiledSwitches.get(data, "moves", (k) -> {
+            MoveFilter filter = new MoveFilter();
+            filter.playersOnly = data.eventPath.startsWith("player moves");
+            filter.blockChange = data.eventPath.startsWith("entity moves block") || data.eventPath.startsWith("player moves block");
+            if (data.switches.containsKey("min_distance")) {
+                double distance = NumberTag.getFor(error, data.switches.get("min_distance")).getInternal();
+                filter.minDistanceSquared = distance * distance;
+            }
+            if (data.switches.containsKey("every")) {
+                filter.every = (long) (DurationTag.getFor(error, data.switches.get("every")).getInternal() * 1000);
+            }
+            return filter;
+        });
     }
 
     public EntityTag entity;
@@ -81,6 +173,23 @@ public class EntityMovesScriptEvent extends ScriptEvent {
 
     public MoveEntityEvent internal;
 
+    public long time;
+
+    public Set<ScriptEventData> candidates;
+
+    public final SwitchIndex<EntityType> index = new SwitchIndex<>("type",
+            (data, error) -> D2SpongeEventHelper.getEntityTypes(data, error, "type").types);
+
+    public final ScriptEventPool<EntityMovesScriptEvent> pool = new ScriptEventPool<>(this, (event) -> {
+        event.candidates = null;
+        event.internal = null;
+        event.entity = null;
+        event.toPosition = null;
+        event.toRotation = null;
+        event.fromPosition = null;
+        event.fromRotation = null;
+    });
+
     @Override
     public void enable() {
         Sponge.getEventManager().registerListeners(Denizen2Sponge.instance, this);
@@ -94,6 +203,13 @@ public class EntityMovesScriptEvent extends ScriptEvent {
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
+        if (entity == null) {
+            entity = new EntityTag(internal.getTargetEntity());
+            toPosition = new LocationTag(internal.getToTransform().getLocation());
+            toRotation = new LocationTag(internal.getToTransform().getRotation());
+            fromPosition = new LocationTag(internal.getFromTransform().getLocation());
+            fromRotation = new LocationTag(internal.getFromTransform().getRotation());
+        }
         defs.put("entity", entity);
         defs.put("to_position", toPosition);
         defs.put("to_rotation", toRotation);
@@ -104,18 +220,37 @@ public class EntityMovesScriptEvent extends ScriptEvent {
 
     @Listener
     public void onEntityMoves(MoveEntityEvent evt) {
-        EntityMovesScriptEvent event = (EntityMovesScriptEvent) clone();
-        event.internal = evt;
-        event.entity = new EntityTag(evt.getTargetEntity());
-        event.toPosition = new LocationTag(evt.getToTransform().getLocation());
-        event.toRotation = new LocationTag(evt.getToTransform().getRotation());
-        event.fromPosition = new LocationTag(evt.getFromTransform().getLocation());
-        event.fromRotation = new LocationTag(evt.getFromTransform().getRotation());
-        event.cancelled = evt.isCancelled();
-        // TODO: Cause viewing
-        event.run();
-        // TODO: Set To Transform determinations.
-        evt.setCancelled(event.cancelled);
+        Set<ScriptEventData> candidates = index.getCandidates(evt.getTargetEntity().getType(), evt.isCancelled(), this::error);
+        if (candidates != null && candidates.isEmpty()) {
+            return;
+        }
+        long time = System.currentTimeMillis();
+        if (candidates != null) {
+            boolean any = false;
+            for (ScriptEventData data : candidates) {
+                if (getFilter(data, this::error).allows(evt, time)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (!any) {
+                return;
+            }
+        }
+        EntityMovesScriptEvent event = pool.acquire();
+        try {
+            event.candidates = candidates;
+            event.internal = evt;
+            event.time = time;
+            event.cancelled = evt.isCancelled();
+            // TODO: Cause viewing
+            event.run();
+            // TODO: Set To Transform determinations.
+            evt.setCancelled(event.cancelled);
+        }
+        finally {
+            pool.release(event);
+        }
     }
 
     @Override
@@ -78,8 +78,7 @@ public class EntitySpawnsScriptEvent extends ScriptEvent {
         return D2SpongeEventHelper.checkEntityType(ent.getType(), data, this::error)
                 && D2SpongeEventHelper.checkWorld(world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid((new LocationTag(loc)).getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                world.getWeather().getId()), data, this::error)
+                && D2SpongeEventHelper.checkWeather(world, data, this::error)
                 && D2SpongeEventHelper.checkCatalogType(
                 SpawnType.class, cause.toString(), data, this::error, "cause");
     }
@@ -6,7 +6,6 @@ import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.event.Listener;
@@ -60,8 +59,7 @@ public class ProjectileImpactsEntityScriptEvent extends ScriptEvent {
                 && D2SpongeEventHelper.checkEntityType(other_entity.getInternal().getType(), data, this::error, "other_type")
                 && D2SpongeEventHelper.checkWorld(impact_point.getInternal().world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid(impact_point.getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                impact_point.getInternal().world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(impact_point.getInternal().world, data, this::error);
     }
 
     public EntityTag entity;
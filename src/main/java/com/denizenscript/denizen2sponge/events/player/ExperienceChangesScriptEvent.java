@@ -5,14 +5,16 @@ import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.IntegerTag;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.entity.ChangeEntityExperienceEvent;
 import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
 
 import java.util.HashMap;
 
@@ -23,7 +25,7 @@ public class ExperienceChangesScriptEvent extends ScriptEvent {
     // @Events
     // experience changes
     //
-    // @Updated 2017/10/16
+    // @Updated 2026/10/17
     //
     // @Cancellable true
     //
@@ -36,6 +38,7 @@ public class ExperienceChangesScriptEvent extends ScriptEvent {
     // @Switch world (WorldTag) checks the world.
     // @Switch cuboid (CuboidTag) checks the cuboid area.
     // @Switch weather (TextTag) checks the weather.
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
     //
     // @Context
     // player (PlayerTag) returns the player that changed experience.
@@ -53,16 +56,19 @@ public class ExperienceChangesScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("experience changes");
+        if (data.eventPath.startsWith("experience changes")) {
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkWorld(player.getOnline(this::error).getLocation().getExtent(), data, this::error)
-                && D2SpongeEventHelper.checkCuboid((new LocationTag(player.getOnline(this::error)
-                .getLocation())).getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                player.getOnline(this::error).getLocation().getExtent().getWeather().getId()), data, this::error);
+        return DeferredEvents.checkTiming(deferredRun, data, this::error)
+                && D2SpongeEventHelper.checkWorld(location.getExtent(), data, this::error)
+                && D2SpongeEventHelper.checkCuboid((new LocationTag(location)).getInternal(), data, this::error)
+                && D2SpongeEventHelper.checkWeather(location.getExtent(), data, this::error);
     }
 
     public PlayerTag player;
@@ -73,6 +79,11 @@ public class ExperienceChangesScriptEvent extends ScriptEvent {
 
     public ChangeEntityExperienceEvent internal;
 
+    // Where the player was when the event fired, for the location switches
+    public Location<World> location;
+
+    public boolean deferredRun;
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -97,16 +108,28 @@ public class ExperienceChangesScriptEvent extends ScriptEvent {
         ExperienceChangesScriptEvent event = (ExperienceChangesScriptEvent) clone();
         event.internal = evt;
         event.player = new PlayerTag(player);
+        event.location = player.getLocation();
         event.old_xp = new IntegerTag(evt.getOriginalExperience());
         event.new_xp = new IntegerTag(evt.getExperience());
         event.cancelled = evt.isCancelled();
         event.run();
         evt.setCancelled(event.cancelled);
+        // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+        if (!event.cancelled && DeferredEvents.hasDeferred(this)) {
+            ExperienceChangesScriptEvent deferred = (ExperienceChangesScriptEvent) event.clone();
+            deferred.deferredRun = true;
+            // The queued snapshot must not see later changes to the Sponge event, nor keep it alive
+            deferred.internal = null;
+            DeferredEvents.enqueue(deferred);
+        }
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        if (determination.equals("xp")) {
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else if (determination.equals("xp")) {
             IntegerTag it = IntegerTag.getFor(this::error, value);
             new_xp = it;
             internal.setExperience((int) it.getInternal());
@@ -8,7 +8,6 @@ import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
 import com.denizenscript.denizen2sponge.tags.objects.ItemTypeTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
@@ -63,8 +62,7 @@ public class ItemCooldownStartsScriptEvent extends ScriptEvent {
                 && D2SpongeEventHelper.checkWorld(player.getOnline(this::error).getLocation().getExtent(), data, this::error)
                 && D2SpongeEventHelper.checkCuboid((new LocationTag(player.getOnline(this::error)
                 .getLocation())).getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                player.getOnline(this::error).getLocation().getExtent().getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(player.getOnline(this::error).getLocation().getExtent(), data, this::error);
     }
 
     public PlayerTag player;
@@ -102,7 +100,7 @@ public class ItemCooldownStartsScriptEvent extends ScriptEvent {
         ItemCooldownStartsScriptEvent event = (ItemCooldownStartsScriptEvent) clone();
         event.internal = evt;
         event.player = new PlayerTag(player);
-        event.item_type = new ItemTypeTag(evt.getItemType());
+        event.item_type = ItemTypeTag.of(evt.getItemType());
         event.new_cooldown = new DurationTag(evt.getNewCooldown() * (1.0 / 20.0));
         event.old_cooldown = new DurationTag(evt.getStartingCooldown().orElse(0) * (1.0 / 20.0));
         event.cancelled = evt.isCancelled();
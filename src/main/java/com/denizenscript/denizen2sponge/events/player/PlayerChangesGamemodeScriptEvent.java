@@ -66,8 +66,7 @@ public class PlayerChangesGamemodeScriptEvent extends ScriptEvent {
                 && D2SpongeEventHelper.checkGamemode(new_gamemode.getInternal(), data, this::error, "new_gamemode")
                 && D2SpongeEventHelper.checkWorld(world, data, this::error) && D2SpongeEventHelper.checkCuboid(
                 new LocationTag(playerInternal.getLocation()).getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(world, data, this::error);
     }
 
     public PlayerTag player;
@@ -4,6 +4,7 @@ import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2sponge.tags.objects.FormattedTextTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
@@ -12,6 +13,8 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
 
 import java.util.HashMap;
 
@@ -22,7 +25,7 @@ public class PlayerChatsScriptEvent extends ScriptEvent {
     // @Events
     // player chats
     //
-    // @Updated 2017/10/14
+    // @Updated 2026/10/17
     //
     // @Cancellable true
     //
@@ -32,6 +35,7 @@ public class PlayerChatsScriptEvent extends ScriptEvent {
     //
     // @Switch world (WorldTag) checks the world.
     // @Switch cuboid (CuboidTag) checks the cuboid area.
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
     //
     // @Context
     // player (PlayerTag) returns the player that sent the message.
@@ -48,14 +52,18 @@ public class PlayerChatsScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("player chats");
+        if (data.eventPath.startsWith("player chats")) {
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkWorld(player.getOnline(this::error).getLocation().getExtent(), data, this::error)
-                && D2SpongeEventHelper.checkCuboid((new LocationTag(player.getOnline(this::error)
-                .getLocation())).getInternal(), data, this::error);
+        return DeferredEvents.checkTiming(deferredRun, data, this::error)
+                && D2SpongeEventHelper.checkWorld(location.getExtent(), data, this::error)
+                && D2SpongeEventHelper.checkCuboid((new LocationTag(location)).getInternal(), data, this::error);
     }
 
     public PlayerTag player;
@@ -64,6 +72,11 @@ public class PlayerChatsScriptEvent extends ScriptEvent {
 
     public MessageChannelEvent.Chat internal;
 
+    // Where the player was when the event fired, for the location switches
+    public Location<World> location;
+
+    public boolean deferredRun;
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -87,15 +100,27 @@ public class PlayerChatsScriptEvent extends ScriptEvent {
         PlayerChatsScriptEvent event = (PlayerChatsScriptEvent) clone();
         event.internal = evt;
         event.player = new PlayerTag(player);
+        event.location = player.getLocation();
         event.message = new FormattedTextTag(evt.getRawMessage());
         event.cancelled = evt.isCancelled();
         event.run();
         evt.setCancelled(event.cancelled);
+        // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+        if (!event.cancelled && DeferredEvents.hasDeferred(this)) {
+            PlayerChatsScriptEvent deferred = (PlayerChatsScriptEvent) event.clone();
+            deferred.deferredRun = true;
+            // The queued snapshot must not see later changes to the Sponge event, nor keep it alive
+            deferred.internal = null;
+            DeferredEvents.enqueue(deferred);
+        }
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        if (determination.equals("message")) {
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else if (determination.equals("message")) {
             FormattedTextTag ftt = FormattedTextTag.getFor(this::error, value);
             message = ftt;
             internal.setMessage(ftt.getInternal());
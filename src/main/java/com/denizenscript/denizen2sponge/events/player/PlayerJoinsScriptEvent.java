@@ -4,6 +4,7 @@ import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.BooleanTag;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2sponge.tags.objects.FormattedTextTag;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
 import org.spongepowered.api.Sponge;
@@ -21,7 +22,7 @@ public class PlayerJoinsScriptEvent extends ScriptEvent {
     // @Events
     // player joins
     //
-    // @Updated 2016/10/18
+    // @Updated 2026/10/17
     //
     // @Cancellable false
     //
@@ -29,6 +30,8 @@ public class PlayerJoinsScriptEvent extends ScriptEvent {
     //
     // @Triggers when a player successfully joins the server.
     //
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
+    //
     // @Context
     // player (PlayerTag) returns the player that joined.
     // message (FormattedTextTag) returns the message that will be broadcast to the server.
@@ -45,12 +48,16 @@ public class PlayerJoinsScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("player joins");
+        if (data.eventPath.startsWith("player joins")) {
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return true;
+        return DeferredEvents.checkTiming(deferredRun, data, this::error);
     }
 
     public PlayerTag player;
@@ -59,6 +66,8 @@ public class PlayerJoinsScriptEvent extends ScriptEvent {
 
     public ClientConnectionEvent.Join internal;
 
+    public boolean deferredRun;
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -84,11 +93,22 @@ public class PlayerJoinsScriptEvent extends ScriptEvent {
         event.player = new PlayerTag(player);
         event.message = new FormattedTextTag(evt.getMessage());
         event.run();
+        // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+        if (DeferredEvents.hasDeferred(this)) {
+            PlayerJoinsScriptEvent deferred = (PlayerJoinsScriptEvent) event.clone();
+            deferred.deferredRun = true;
+            // The queued snapshot must not see later changes to the Sponge event, nor keep it alive
+            deferred.internal = null;
+            DeferredEvents.enqueue(deferred);
+        }
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        if (determination.equals("message")) {
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else if (determination.equals("message")) {
             FormattedTextTag ftt = FormattedTextTag.getFor(this::error, value);
             message = ftt;
             internal.setMessage(ftt.getInternal());
@@ -7,7 +7,6 @@ import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
 import com.denizenscript.denizen2sponge.tags.objects.BlockTypeTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
@@ -63,8 +62,7 @@ public class PlayerPlacesBlockScriptEvent extends ScriptEvent {
         return D2SpongeEventHelper.checkBlockType(material.getInternal(), data, this::error)
                 && D2SpongeEventHelper.checkWorld(location.getInternal().world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid(location.getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                location.getInternal().world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(location.getInternal().world, data, this::error);
     }
 
     public PlayerTag player;
@@ -106,8 +104,8 @@ public class PlayerPlacesBlockScriptEvent extends ScriptEvent {
             event.internal = evt;
             event.block = block;
             event.player = new PlayerTag(player);
-            event.material = new BlockTypeTag(block.getFinal().getState().getType());
-            event.old_material = new BlockTypeTag(block.getOriginal().getState().getType());
+            event.material = BlockTypeTag.of(block.getFinal().getState().getType());
+            event.old_material = BlockTypeTag.of(block.getOriginal().getState().getType());
             event.location = new LocationTag(block.getOriginal().getLocation().get());
             event.cancelled = evt.isCancelled();
             event.run();
@@ -65,8 +65,7 @@ public class PlayerStopsUsingItemScriptEvent extends ScriptEvent {
         return D2SpongeEventHelper.checkItem(item, data, this::error, "item")
                 && D2SpongeEventHelper.checkWorld(world, data, this::error) && D2SpongeEventHelper.checkCuboid(
                 new LocationTag(playerInternal.getLocation()).getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                world.getWeather().getId()), data, this::error) && D2SpongeEventHelper.checkGamemode(
+                && D2SpongeEventHelper.checkWeather(world, data, this::error) && D2SpongeEventHelper.checkGamemode(
                 Utilities.getIdWithoutDefaultPrefix(playerInternal.gameMode().get().getId()), data, this::error);
     }
 
@@ -6,6 +6,7 @@ import com.denizenscript.denizen2core.tags.objects.IntegerTag;
 import com.denizenscript.denizen2core.tags.objects.TextTag;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.Player;
@@ -22,7 +23,7 @@ public class StatisticChangesScriptEvent extends ScriptEvent {
     // @Events
     // statistic changes
     //
-    // @Updated 2017/10/13
+    // @Updated 2026/10/17
     //
     // @Cancellable true
     //
@@ -31,6 +32,7 @@ public class StatisticChangesScriptEvent extends ScriptEvent {
     // @Triggers when a player statistic changes.
     //
     // @Switch statistic (TextTag) checks the statistic.
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
     //
     // @Context
     // player (PlayerTag) returns the player that owns the statistic.
@@ -49,12 +51,17 @@ public class StatisticChangesScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("statistic changes");
+        if (data.eventPath.startsWith("statistic changes")) {
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkString(statistic.getInternal(), data, this::error, "statistic");
+        return DeferredEvents.checkTiming(deferredRun, data, this::error)
+                && D2SpongeEventHelper.checkString(statistic.getInternal(), data, this::error, "statistic");
     }
 
     public PlayerTag player;
@@ -67,6 +74,8 @@ public class StatisticChangesScriptEvent extends ScriptEvent {
 
     public ChangeStatisticEvent.TargetPlayer internal;
 
+    public boolean deferredRun;
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -98,11 +107,22 @@ public class StatisticChangesScriptEvent extends ScriptEvent {
         event.cancelled = evt.isCancelled();
         event.run();
         evt.setCancelled(event.cancelled);
+        // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+        if (!event.cancelled && DeferredEvents.hasDeferred(this)) {
+            StatisticChangesScriptEvent deferred = (StatisticChangesScriptEvent) event.clone();
+            deferred.deferredRun = true;
+            // The queued snapshot must not see later changes to the Sponge event, nor keep it alive
+            deferred.internal = null;
+            DeferredEvents.enqueue(deferred);
+        }
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        if (determination.equals("value")) {
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else if (determination.equals("value")) {
             IntegerTag it = IntegerTag.getFor(this::error, value);
             new_value = it;
             internal.setValue(it.getInternal());
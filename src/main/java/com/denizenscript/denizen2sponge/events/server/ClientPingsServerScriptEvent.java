@@ -1,6 +1,7 @@
 package com.denizenscript.denizen2sponge.events.server;
 
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.IntegerTag;
@@ -22,7 +23,7 @@ public class ClientPingsServerScriptEvent extends ScriptEvent {
     // @Events
     // client pings server
     //
-    // @Updated 2016/08/26
+    // @Updated 2026/10/17
     //
     // @Cancellable false
     //
@@ -30,6 +31,8 @@ public class ClientPingsServerScriptEvent extends ScriptEvent {
     //
     // @Triggers when a client pings the server for information.
     //
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
+    //
     // @Context
     // address (TextTag) returns the address of the client.
     // version (TextTag) returns the Minecraft version the client is using to ping.
@@ -50,12 +53,16 @@ public class ClientPingsServerScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("client pings server");
+        if (data.eventPath.startsWith("client pings server")) {
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return true;
+        return DeferredEvents.checkTiming(deferredRun, data, this::error);
     }
 
     public TextTag address;
@@ -70,6 +77,8 @@ public class ClientPingsServerScriptEvent extends ScriptEvent {
 
     public ClientPingServerEvent internal;
 
+    public boolean deferredRun;
+
     // TODO: Thread safety!
 
     @Override
@@ -114,11 +123,22 @@ public class ClientPingsServerScriptEvent extends ScriptEvent {
         event.max_players = new IntegerTag(maxPlayers);
         // TODO: Read and control the player name list! (Profiles)
         event.run();
+        // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+        if (DeferredEvents.hasDeferred(this)) {
+            ClientPingsServerScriptEvent deferred = (ClientPingsServerScriptEvent) event.clone();
+            deferred.deferredRun = true;
+            // The queued snapshot must not see later changes to the Sponge event, nor keep it alive
+            deferred.internal = null;
+            DeferredEvents.enqueue(deferred);
+        }
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        if (determination.equals("motd")) {
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else if (determination.equals("motd")) {
             motd = FormattedTextTag.getFor(this::error, value);
             internal.getResponse().setDescription(motd.getInternal());
         }
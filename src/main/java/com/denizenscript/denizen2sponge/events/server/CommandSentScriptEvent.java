@@ -6,6 +6,9 @@ import com.denizenscript.denizen2core.tags.objects.ListTag;
 import com.denizenscript.denizen2core.tags.objects.TextTag;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
+import com.denizenscript.denizen2sponge.events.ScriptEventPool;
+import com.denizenscript.denizen2sponge.events.SwitchIndex;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
 import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
@@ -20,6 +23,7 @@ import org.spongepowered.api.event.command.SendCommandEvent;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 
 public class CommandSentScriptEvent extends ScriptEvent {
 
@@ -28,7 +32,7 @@ public class CommandSentScriptEvent extends ScriptEvent {
     // @Events
     // command sent
     //
-    // @Updated 2017/10/04
+    // @Updated 2026/10/17
     //
     // @Cancellable true
     //
@@ -37,6 +41,8 @@ public class CommandSentScriptEvent extends ScriptEvent {
     // @Triggers when a command is used by any source.
     //
     // @Switch command (TextTag) checks the command name.
+    // @Switch ignore_cancelled (BooleanTag) sets whether the event is skipped when already cancelled.
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
     //
     // @Context
     // command (TextTag) returns the main command that was used.
@@ -60,12 +66,19 @@ public class CommandSentScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("command sent");
+        if (data.eventPath.startsWith("command sent")) {
+            index.register(data);
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkString(command.getInternal(), data, this::error, "command");
+        return (candidates == null || candidates.contains(data))
+                && DeferredEvents.checkTiming(deferredRun, data, this::error)
+                && D2SpongeEventHelper.checkString(command == null ? internal.getCommand() : command.getInternal(), data, this::error, "command");
     }
 
     public TextTag command;
@@ -84,9 +97,29 @@ public class CommandSentScriptEvent extends ScriptEvent {
 
     public SendCommandEvent internal;
 
+    public boolean deferredRun;
+
+    public Set<ScriptEventData> candidates;
+
+    public final SwitchIndex<String> index = new SwitchIndex<>("command",
+            (data, error) -> D2SpongeEventHelper.getStrings(data, error, "command").texts);
+
+    public final ScriptEventPool<CommandSentScriptEvent> pool = new ScriptEventPool<>(this, (event) -> {
+        event.candidates = null;
+        event.internal = null;
+        event.command = null;
+        event.args = null;
+        event.raw_args = null;
+        event.source = null;
+        event.player = null;
+        event.location = null;
+        event.entity = null;
+    });
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
+        buildContext();
         defs.put("command", command);
         defs.put("args", args);
         defs.put("raw_args", raw_args);
@@ -103,6 +136,43 @@ public class CommandSentScriptEvent extends ScriptEvent {
         return defs;
     }
 
+    /**
+     * Builds any context tags that have not been built yet from the Sponge event.
+     */
+    public void buildContext() {
+        if (command == null) {
+            command = new TextTag(internal.getCommand());
+        }
+        if (args == null) {
+            ListTag list = new ListTag();
+            for (String arg : splitArguments(internal.getArguments())) {
+                list.getInternal().add(new TextTag(arg));
+            }
+            args = list;
+        }
+        if (raw_args == null) {
+            raw_args = new TextTag(internal.getArguments());
+        }
+        if (source == null) {
+            CommandSource src = (CommandSource) internal.getSource();
+            if (src instanceof Player) {
+                source = new TextTag("player");
+                player = new PlayerTag((Player) src);
+            }
+            else if (src instanceof CommandBlock) {
+                source = new TextTag("block");
+                location = new LocationTag(((CommandBlock) src).getLocation());
+            }
+            else if (src instanceof CommandBlockMinecart) {
+                source = new TextTag("minecart");
+                entity = new EntityTag((CommandBlockMinecart) src);
+            }
+            else {
+                source = new TextTag("server");
+            }
+        }
+    }
+
     @Override
     public void enable() {
         Sponge.getEventManager().registerListeners(Denizen2Sponge.instance, this);
@@ -143,41 +213,40 @@ public class CommandSentScriptEvent extends ScriptEvent {
 
     @Listener
     public void onCommandSent(SendCommandEvent evt) {
-        CommandSentScriptEvent event = (CommandSentScriptEvent) clone();
-        event.internal = evt;
-        event.command = new TextTag(evt.getCommand());
-        ListTag list = new ListTag();
-        for (String arg : splitArguments(evt.getArguments())) {
-            list.getInternal().add(new TextTag(arg));
-        }
-        event.args = list;
-        event.raw_args = new TextTag(evt.getArguments());
-        CommandSource source = (CommandSource) evt.getSource();
-        if (source instanceof Player) {
-            event.source = new TextTag("player");
-            event.player = new PlayerTag((Player) source);
-        }
-        else if (source instanceof CommandBlock) {
-            event.source = new TextTag("block");
-            event.location = new LocationTag(((CommandBlock) source).getLocation());
-        }
-        else if (source instanceof CommandBlockMinecart) {
-            event.source = new TextTag("minecart");
-            event.entity = new EntityTag((CommandBlockMinecart) source);
+        Set<ScriptEventData> candidates = index.getCandidates(evt.getCommand(), evt.isCancelled(), this::error);
+        if (candidates != null && candidates.isEmpty()) {
+            return;
         }
-        else {
-            event.source = new TextTag("server");
+        CommandSentScriptEvent event = pool.acquire();
+        try {
+            event.candidates = candidates;
+            event.internal = evt;
+            event.cancelled = evt.isCancelled();
+            event.run();
+            evt.setCancelled(event.cancelled);
+            // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+            if (!event.cancelled && DeferredEvents.hasDeferred(this)) {
+                CommandSentScriptEvent deferred = (CommandSentScriptEvent) event.clone();
+                deferred.deferredRun = true;
+                deferred.buildContext();
+                deferred.internal = null;
+                DeferredEvents.enqueue(deferred);
+            }
+        }
+        finally {
+            pool.release(event);
         }
-        event.cancelled = evt.isCancelled();
-        event.run();
-        evt.setCancelled(event.cancelled);
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        if (determination.equals("command")) {
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else if (determination.equals("command")) {
             TextTag tt = new TextTag(value.toString());
             command = tt;
+            candidates = null;
             internal.setCommand(tt.getInternal());
         }
         else if (determination.equals("args")) {
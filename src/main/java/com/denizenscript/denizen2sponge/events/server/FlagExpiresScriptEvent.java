@@ -0,0 +1,108 @@
+package com.denizenscript.denizen2sponge.events.server;
+
+import com.denizenscript.denizen2core.events.ScriptEvent;
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.TextTag;
+import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
+
+import java.util.HashMap;
+
+public class FlagExpiresScriptEvent extends ScriptEvent {
+
+    // <--[event]
+    // @Since 0.5.5
+    // @Events
+    // flag expires
+    //
+    // @Updated 2026/10/17
+    //
+    // @Cancellable false
+    //
+    // @Group Server
+    //
+    // @Triggers when a timed flag on the server or an entity expires and is removed.
+    // Expired flags are removed shortly after they expire, a limited number per tick, as set by the "Flags.Expiry Budget" config option.
+    // Entity flags only expire while their entity is loaded.
+    //
+    // @Switch flag (TextTag) checks the name of the flag.
+    // @Switch type (EntityTypeTag) checks the entity type. Never matches server flags.
+    //
+    // @Context
+    // entity (EntityTag) returns the entity that held the flag, if it was not a server flag.
+    // flag (TextTag) returns the name of the flag.
+    // value (Dynamic) returns the value the flag had.
+    //
+    // @Determinations
+    // None.
+    // -->
+
+    /**
+     * The registered instance, while any script listens to this event.
+     */
+    public static FlagExpiresScriptEvent instance = null;
+
+    @Override
+    public String getName() {
+        return "FlagExpires";
+    }
+
+    @Override
+    public boolean couldMatch(ScriptEventData data) {
+        return data.eventPath.startsWith("flag expires");
+    }
+
+    @Override
+    public boolean matches(ScriptEventData data) {
+        if (data.switches.containsKey("type")
+                && (entity == null || !D2SpongeEventHelper.checkEntityType(entity.getInternal().getType(), data, this::error))) {
+            return false;
+        }
+        return D2SpongeEventHelper.checkString(flag.getInternal(), data, this::error, "flag");
+    }
+
+    public EntityTag entity;
+
+    public TextTag flag;
+
+    public AbstractTagObject value;
+
+    @Override
+    public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
+        HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
+        if (entity != null) {
+            defs.put("entity", entity);
+        }
+        defs.put("flag", flag);
+        if (value != null) {
+            defs.put("value", value);
+        }
+        return defs;
+    }
+
+    @Override
+    public void enable() {
+        instance = this;
+    }
+
+    @Override
+    public void disable() {
+        instance = null;
+    }
+
+    public static void fire(EntityTag entity, String flag, AbstractTagObject value) {
+        if (instance == null) {
+            return;
+        }
+        FlagExpiresScriptEvent event = (FlagExpiresScriptEvent) instance.clone();
+        event.entity = entity;
+        event.flag = new TextTag(flag);
+        event.value = value;
+        event.run();
+    }
+
+    @Override
+    public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
+        super.applyDetermination(errors, determination, value);
+    }
+}
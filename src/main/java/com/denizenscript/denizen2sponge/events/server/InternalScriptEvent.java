@@ -2,16 +2,21 @@ package com.denizenscript.denizen2sponge.events.server;
 
 import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.BooleanTag;
+import com.denizenscript.denizen2core.tags.objects.ListTag;
 import com.denizenscript.denizen2core.tags.objects.MapTag;
 import com.denizenscript.denizen2core.tags.objects.TextTag;
+import com.denizenscript.denizen2core.utilities.Action;
+import com.denizenscript.denizen2core.utilities.debugging.Debug;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
-import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.CompiledSwitches;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Cancellable;
 import org.spongepowered.api.event.Event;
-import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.EventListener;
 
-import java.util.HashMap;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InternalScriptEvent extends ScriptEvent {
 
@@ -20,7 +25,7 @@ public class InternalScriptEvent extends ScriptEvent {
     // @Events
     // internal event
     //
-    // @Updated 2016/12/11
+    // @Updated 2026/10/17
     //
     // @Cancellable true
     //
@@ -30,7 +35,12 @@ public class InternalScriptEvent extends ScriptEvent {
     //
     // @Triggers when any internal event occurs.
     //
-    // @Switch event_type (TextTag) checks the event type.
+    // @Switch event_type (TextTag) checks the event type, as the full name of a Sponge event class or interface.
+    // @Switch wildcard (BooleanTag) sets whether the script path listens to every internal event, when no event_type is given.
+    //
+    // @Note Only the event types named by event_type switches are listened to.
+    // A script path without an event_type switch must specify "wildcard:true", as listening to every internal event
+    // is very expensive. A warning is shown whenever a wildcard script path is loaded.
     //
     // @Warning This event depends on the internal system (Sponge) being consistent and trustworthy. Prefer D2-standard events over this!
     //
@@ -49,12 +59,82 @@ public class InternalScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("internal event");
+        if (data.eventPath.startsWith("internal event")) {
+            synchronized (paths) {
+                paths.add(data);
+            }
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkString(event_type.getInternal(), data, this::error, "event_type");
+        for (Class<? extends Event> type : getEventTypes(data, this::error)) {
+            if (type.isInstance(internal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the event classes a script path listens to. Returns the root Event class for wildcard paths,
+     * and an empty list for paths that have neither a valid event_type switch nor wildcard enabled.
+     */
+    public static List<Class<? extends Event>> getEventTypes(ScriptEventData data, Action<String> error) {
+        return CompiledSwitches.get(data, "event_type", (n) -> {
+            List<Class<? extends Event>> res = new ArrayList<>();
+            if (!data.switches.containsKey(n)) {
+                if (data.switches.containsKey("wildcard") && BooleanTag.getFor(error, data.switches.get("wildcard")).getInternal()) {
+                    res.add(Event.class);
+                }
+                else {
+                    error.run("Internal event script paths must specify an event_type, or enable wildcard listening!");
+                }
+                return res;
+            }
+            for (AbstractTagObject ato : ListTag.getFor(error, data.switches.get(n)).getInternal()) {
+                String name = ato.toString();
+                try {
+                    Class<?> type = findClass(name);
+                    if (!Event.class.isAssignableFrom(type)) {
+                        error.run("Class is not an event type: " + name);
+                        continue;
+                    }
+                    res.add(type.asSubclass(Event.class));
+                }
+                catch (ClassNotFoundException ex) {
+                    error.run("Invalid event type: " + name);
+                }
+            }
+            return res;
+        });
+    }
+
+    /**
+     * Finds a class by name, including classes from other plugins, which the Sponge API's own class loader can't see.
+     */
+    public static Class<?> findClass(String name) throws ClassNotFoundException {
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        if (context != null) {
+            try {
+                return Class.forName(name, false, context);
+            }
+            catch (ClassNotFoundException ex) {
+                // Fall back to the plugin's own class loader
+            }
+        }
+        return Class.forName(name, false, Denizen2Sponge.class.getClassLoader());
+    }
+
+    /**
+     * Forgets all script paths. Called whenever scripts are reloaded.
+     */
+    public static void clear() {
+        synchronized (paths) {
+            paths.clear();
+        }
     }
 
     public TextTag event_type;
@@ -63,6 +143,16 @@ public class InternalScriptEvent extends ScriptEvent {
 
     public Event internal;
 
+    public static final Set<ScriptEventData> paths = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public final List<EventListener<Event>> listeners = new ArrayList<>();
+
+    // The listened-to event types, in registration order
+    public volatile List<Class<? extends Event>> types = Collections.emptyList();
+
+    // Each fired event class, mapped to the single listened-to type whose listener handles it
+    public final Map<Class<?>, Class<? extends Event>> owners = new ConcurrentHashMap<>();
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -73,15 +163,65 @@ public class InternalScriptEvent extends ScriptEvent {
 
     @Override
     public void enable() {
-        Sponge.getEventManager().registerListeners(Denizen2Sponge.instance, this);
+        // Enabling again (such as after a reload) replaces the previous listeners
+        unregisterListeners();
+        Set<Class<? extends Event>> types = new LinkedHashSet<>();
+        synchronized (paths) {
+            for (ScriptEventData data : paths) {
+                List<Class<? extends Event>> dataTypes = getEventTypes(data, this::error);
+                if (dataTypes.contains(Event.class)) {
+                    Debug.error("Warning: an internal event script path is listening to every internal event! This will slow down the server.");
+                }
+                types.addAll(dataTypes);
+            }
+        }
+        if (types.contains(Event.class)) {
+            types.clear();
+            types.add(Event.class);
+        }
+        this.types = new ArrayList<>(types);
+        for (Class<? extends Event> type : types) {
+            EventListener<Event> listener = (evt) -> {
+                // An event may implement several of the listened-to types, but should still only fire once
+                if (getOwner(evt.getClass()) == type) {
+                    onInternalEvent(evt);
+                }
+            };
+            Sponge.getEventManager().registerListener(Denizen2Sponge.instance, type, listener);
+            listeners.add(listener);
+        }
     }
 
     @Override
     public void disable() {
-        Sponge.getEventManager().unregisterListeners(this);
+        unregisterListeners();
+        clear();
+    }
+
+    private void unregisterListeners() {
+        for (EventListener<Event> listener : listeners) {
+            Sponge.getEventManager().unregisterListeners(listener);
+        }
+        listeners.clear();
+        types = Collections.emptyList();
+        owners.clear();
+    }
+
+    /**
+     * Gets the most specific listened-to type of an event class, or the first registered one when several unrelated types match.
+     */
+    public Class<? extends Event> getOwner(Class<?> eventClass) {
+        return owners.computeIfAbsent(eventClass, (c) -> {
+            Class<? extends Event> best = null;
+            for (Class<? extends Event> type : types) {
+                if (type.isAssignableFrom(c) && (best == null || best.isAssignableFrom(type))) {
+                    best = type;
+                }
+            }
+            return best;
+        });
     }
 
-    @Listener
     public void onInternalEvent(Event evt) {
         InternalScriptEvent event = (InternalScriptEvent) clone();
         event.internal = evt;
@@ -4,16 +4,19 @@ import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.ScriptEventPool;
+import com.denizenscript.denizen2sponge.events.SwitchIndex;
 import com.denizenscript.denizen2sponge.tags.objects.BlockTypeTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.data.Transaction;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.block.ChangeBlockEvent;
 
 import java.util.HashMap;
+import java.util.Set;
 
 public class BlockChangesScriptEvent extends ScriptEvent {
 
@@ -35,6 +38,7 @@ public class BlockChangesScriptEvent extends ScriptEvent {
     // @Switch world (WorldTag) checks the world.
     // @Switch cuboid (CuboidTag) checks the cuboid area.
     // @Switch weather (TextTag) checks the weather.
+    // @Switch ignore_cancelled (BooleanTag) sets whether the event is skipped when already cancelled.
     //
     // @Context
     // location (LocationTag) returns the location of the changed block.
@@ -52,17 +56,21 @@ public class BlockChangesScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("block changes");
+        if (data.eventPath.startsWith("block changes")) {
+            index.register(data);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkBlockType(new_material.getInternal(), data, this::error, "new_type")
+        return (candidates == null || candidates.contains(data))
+                && D2SpongeEventHelper.checkBlockType(new_material.getInternal(), data, this::error, "new_type")
                 && D2SpongeEventHelper.checkBlockType(old_material.getInternal(), data, this::error, "old_type")
                 && D2SpongeEventHelper.checkWorld(location.getInternal().world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid(location.getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                location.getInternal().world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(location.getInternal().world, data, this::error);
 
     }
 
@@ -74,6 +82,19 @@ public class BlockChangesScriptEvent extends ScriptEvent {
 
     public ChangeBlockEvent internal;
 
+    public Set<ScriptEventData> candidates;
+
+    public final SwitchIndex<BlockType> index = new SwitchIndex<>("new_type",
+            (data, error) -> D2SpongeEventHelper.getBlockTypes(data, error, "new_type").types);
+
+    public final ScriptEventPool<BlockChangesScriptEvent> pool = new ScriptEventPool<>(this, (event) -> {
+        event.candidates = null;
+        event.internal = null;
+        event.location = null;
+        event.new_material = null;
+        event.old_material = null;
+    });
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -96,14 +117,25 @@ public class BlockChangesScriptEvent extends ScriptEvent {
     @Listener
     public void onBlockChanged(ChangeBlockEvent evt) {
         for (Transaction<BlockSnapshot> block : evt.getTransactions()) {
-            BlockChangesScriptEvent event = (BlockChangesScriptEvent) clone();
-            event.internal = evt;
-            event.location = new LocationTag(block.getFinal().getLocation().get());
-            event.new_material = new BlockTypeTag(block.getFinal().getState().getType());
-            event.old_material = new BlockTypeTag(block.getOriginal().getState().getType());
-            event.cancelled = evt.isCancelled();
-            event.run();
-            evt.setCancelled(event.cancelled);
+            BlockType newType = block.getFinal().getState().getType();
+            Set<ScriptEventData> candidates = index.getCandidates(newType, evt.isCancelled(), this::error);
+            if (candidates != null && candidates.isEmpty()) {
+                continue;
+            }
+            BlockChangesScriptEvent event = pool.acquire();
+            try {
+                event.candidates = candidates;
+                event.internal = evt;
+                event.location = new LocationTag(block.getFinal().getLocation().get());
+                event.new_material = BlockTypeTag.of(newType);
+                event.old_material = BlockTypeTag.of(block.getOriginal().getState().getType());
+                event.cancelled = evt.isCancelled();
+                event.run();
+                evt.setCancelled(event.cancelled);
+            }
+            finally {
+                pool.release(event);
+            }
         }
     }
 
@@ -6,7 +6,6 @@ import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
 import com.denizenscript.denizen2sponge.tags.objects.BlockTypeTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.data.Transaction;
@@ -58,8 +57,7 @@ public class BlockFadesScriptEvent extends ScriptEvent {
         return D2SpongeEventHelper.checkBlockType(material.getInternal(), data, this::error)
                 && D2SpongeEventHelper.checkWorld(location.getInternal().world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid(location.getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                location.getInternal().world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(location.getInternal().world, data, this::error);
     }
 
     public LocationTag location;
@@ -92,7 +90,7 @@ public class BlockFadesScriptEvent extends ScriptEvent {
             BlockFadesScriptEvent event = (BlockFadesScriptEvent) clone();
             event.internal = evt;
             event.location = new LocationTag(block.getFinal().getLocation().get());
-            event.material = new BlockTypeTag(block.getOriginal().getState().getType());
+            event.material = BlockTypeTag.of(block.getOriginal().getState().getType());
             event.cancelled = evt.isCancelled();
             event.run();
             evt.setCancelled(event.cancelled);
@@ -0,0 +1,211 @@
+package com.denizenscript.denizen2sponge.events.world;
+
+import com.denizenscript.denizen2core.events.ScriptEvent;
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.IntegerTag;
+import com.denizenscript.denizen2core.tags.objects.ListTag;
+import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.ScriptEventPool;
+import com.denizenscript.denizen2sponge.events.SwitchIndex;
+import com.denizenscript.denizen2sponge.tags.objects.BlockTypeTag;
+import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
+import com.denizenscript.denizen2sponge.utilities.UtilLocation;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockType;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.*;
+
+public class BlocksChangeScriptEvent extends ScriptEvent {
+
+    // <--[event]
+    // @Since 0.5.5
+    // @Events
+    // blocks change
+    //
+    // @Updated 2026/10/17
+    //
+    // @Group World
+    //
+    // @Cancellable true
+    //
+    // @Triggers when one or more blocks change at once for any given reason, such as a piston moving,
+    // an explosion or a tree growing. Fires once for the whole batch of changes, unlike the "block changes" event.
+    //
+    // @Switch new_type (BlockTypeTag) checks that at least one block changed to this type.
+    // @Switch old_type (BlockTypeTag) checks that at least one block changed from this type.
+    // @Switch world (WorldTag) checks the world.
+    // @Switch cuboid (CuboidTag) checks that at least one block changed in the cuboid area.
+    // @Switch weather (TextTag) checks the weather.
+    // @Switch ignore_cancelled (BooleanTag) sets whether the event is skipped when already cancelled.
+    //
+    // @Context
+    // locations (ListTag<LocationTag>) returns the locations of all changed blocks.
+    // new_materials (ListTag<BlockTypeTag>) returns the new types of all changed blocks, in the same order as the locations.
+    // old_materials (ListTag<BlockTypeTag>) returns the old types of all changed blocks, in the same order as the locations.
+    //
+    // @Determinations
+    // invalidate (ListTag<IntegerTag>) to prevent the changes at the given indices of the location list from happening,
+    // without cancelling the rest of the batch.
+    // -->
+
+    @Override
+    public String getName() {
+        return "BlocksChange";
+    }
+
+    @Override
+    public boolean couldMatch(ScriptEventData data) {
+        if (data.eventPath.startsWith("blocks change")) {
+            index.register(data);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean matches(ScriptEventData data) {
+        if ((candidates != null && !candidates.contains(data))
+                || !D2SpongeEventHelper.checkWorld(world, data, this::error)
+                || !D2SpongeEventHelper.checkWeather(world, data, this::error)) {
+            return false;
+        }
+        for (Transaction<BlockSnapshot> block : transactions) {
+            if (block.isValid()
+                    && D2SpongeEventHelper.checkBlockType(block.getFinal().getState().getType(), data, this::error, "new_type")
+                    && D2SpongeEventHelper.checkBlockType(block.getOriginal().getState().getType(), data, this::error, "old_type")
+                    && (!data.switches.containsKey("cuboid")
+                    || D2SpongeEventHelper.checkCuboid(new UtilLocation(block.getFinal().getPosition(), world), data, this::error))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public World world;
+
+    public List<Transaction<BlockSnapshot>> transactions;
+
+    public ListTag locations;
+
+    public ListTag new_materials;
+
+    public ListTag old_materials;
+
+    public ChangeBlockEvent internal;
+
+    public Set<ScriptEventData> candidates;
+
+    public final SwitchIndex<BlockType> index = new SwitchIndex<>("new_type",
+            (data, error) -> D2SpongeEventHelper.getBlockTypes(data, error, "new_type").types);
+
+    public final ScriptEventPool<BlocksChangeScriptEvent> pool = new ScriptEventPool<>(this, (event) -> {
+        event.candidates = null;
+        event.internal = null;
+        event.world = null;
+        event.transactions = null;
+        event.locations = null;
+        event.new_materials = null;
+        event.old_materials = null;
+    });
+
+    @Override
+    public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
+        HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
+        if (locations == null) {
+            ListTag locs = new ListTag();
+            ListTag newTypes = new ListTag();
+            ListTag oldTypes = new ListTag();
+            for (Transaction<BlockSnapshot> block : transactions) {
+                locs.getInternal().add(new LocationTag(new UtilLocation(block.getFinal().getPosition(), world)));
+                newTypes.getInternal().add(BlockTypeTag.of(block.getFinal().getState().getType()));
+                oldTypes.getInternal().add(BlockTypeTag.of(block.getOriginal().getState().getType()));
+            }
+            locations = locs;
+            new_materials = newTypes;
+            old_materials = oldTypes;
+        }
+        defs.put("locations", locations);
+        defs.put("new_materials", new_materials);
+        defs.put("old_materials", old_materials);
+        return defs;
+    }
+
+    @Override
+    public void enable() {
+        Sponge.getEventManager().registerListeners(Denizen2Sponge.instance, this);
+    }
+
+    @Override
+    public void disable() {
+        Sponge.getEventManager().unregisterListeners(this);
+    }
+
+    @Listener
+    public void onBlocksChanged(ChangeBlockEvent evt) {
+        List<Transaction<BlockSnapshot>> transactions = evt.getTransactions();
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Optional<Location<World>> opt = transactions.get(0).getFinal().getLocation();
+        if (!opt.isPresent()) {
+            return;
+        }
+        Set<ScriptEventData> candidates = null;
+        Set<BlockType> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Transaction<BlockSnapshot> block : transactions) {
+            if (!types.add(block.getFinal().getState().getType())) {
+                continue;
+            }
+            Set<ScriptEventData> typeCandidates = index.getCandidates(block.getFinal().getState().getType(), evt.isCancelled(), this::error);
+            if (typeCandidates == null) {
+                candidates = null;
+                break;
+            }
+            if (candidates == null) {
+                candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            candidates.addAll(typeCandidates);
+        }
+        if (candidates != null && candidates.isEmpty()) {
+            return;
+        }
+        BlocksChangeScriptEvent event = pool.acquire();
+        try {
+            event.candidates = candidates;
+            event.internal = evt;
+            event.world = opt.get().getExtent();
+            event.transactions = transactions;
+            event.cancelled = evt.isCancelled();
+            event.run();
+            evt.setCancelled(event.cancelled);
+        }
+        finally {
+            pool.release(event);
+        }
+    }
+
+    @Override
+    public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
+        if (determination.equals("invalidate")) {
+            ListTag lt = ListTag.getFor(this::error, value);
+            for (AbstractTagObject ato : lt.getInternal()) {
+                long i = IntegerTag.getFor(this::error, ato).getInternal();
+                if (i < 1 || i > transactions.size()) {
+                    error("Invalid change index: " + i + "!");
+                    continue;
+                }
+                transactions.get((int) i - 1).setValid(false);
+            }
+        }
+        else {
+            super.applyDetermination(errors, determination, value);
+        }
+    }
+}
@@ -8,9 +8,9 @@ import com.denizenscript.denizen2core.tags.objects.MapTag;
 import com.denizenscript.denizen2core.tags.objects.NumberTag;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.ScriptEventPool;
 import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
-import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.event.Listener;
@@ -65,8 +65,7 @@ public class ExplosionOccursScriptEvent extends ScriptEvent {
     public boolean matches(ScriptEventData data) {
         return D2SpongeEventHelper.checkWorld(location.getInternal().world, data, this::error)
                 && D2SpongeEventHelper.checkCuboid(location.getInternal(), data, this::error)
-                && D2SpongeEventHelper.checkWeather(Utilities.getIdWithoutDefaultPrefix(
-                location.getInternal().world.getWeather().getId()), data, this::error);
+                && D2SpongeEventHelper.checkWeather(location.getInternal().world, data, this::error);
     }
 
     public LocationTag location;
@@ -79,16 +78,62 @@ public class ExplosionOccursScriptEvent extends ScriptEvent {
 
     public ExplosionEvent.Detonate internal;
 
+    public final ScriptEventPool<ExplosionOccursScriptEvent> pool = new ScriptEventPool<>(this, (event) -> {
+        event.internal = null;
+        event.location = null;
+        event.blocks = null;
+        event.entities = null;
+        event.explosion_data = null;
+    });
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
+        // The core copies every definition into the queue as soon as a path matches, and a path's script can't be inspected here,
+        // so context can't be built per key on read. Each list is instead built at most once per explosion, and not at all if no path matches.
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
         defs.put("location", location);
-        defs.put("blocks", blocks);
-        defs.put("entities", entities);
-        defs.put("explosion_data", explosion_data);
+        defs.put("blocks", getBlocks());
+        defs.put("entities", getEntities());
+        defs.put("explosion_data", getExplosionData());
         return defs;
     }
 
+    public ListTag getBlocks() {
+        if (blocks == null) {
+            ListTag locs = new ListTag();
+            for (Location<World> loc : internal.getAffectedLocations()) {
+                locs.getInternal().add(new LocationTag(loc));
+            }
+            blocks = locs;
+        }
+        return blocks;
+    }
+
+    public ListTag getEntities() {
+        if (entities == null) {
+            ListTag ents = new ListTag();
+            for (Entity ent : internal.getEntities()) {
+                ents.getInternal().add(new EntityTag(ent));
+            }
+            entities = ents;
+        }
+        return entities;
+    }
+
+    public MapTag getExplosionData() {
+        if (explosion_data == null) {
+            Explosion exp = internal.getExplosion();
+            MapTag data = new MapTag();
+            data.getInternal().put("radius", new NumberTag(exp.getRadius()));
+            data.getInternal().put("fire", BooleanTag.getForBoolean(exp.canCauseFire()));
+            data.getInternal().put("break_blocks", BooleanTag.getForBoolean(exp.shouldBreakBlocks()));
+            data.getInternal().put("damage_entities", BooleanTag.getForBoolean(exp.shouldDamageEntities()));
+            data.getInternal().put("smoke", BooleanTag.getForBoolean(exp.shouldPlaySmoke()));
+            explosion_data = data;
+        }
+        return explosion_data;
+    }
+
     @Override
     public void enable() {
         Sponge.getEventManager().registerListeners(Denizen2Sponge.instance, this);
@@ -101,30 +146,17 @@ public class ExplosionOccursScriptEvent extends ScriptEvent {
 
     @Listener
     public void onExplosionOccurs(ExplosionEvent.Detonate evt) {
-        ExplosionOccursScriptEvent event = (ExplosionOccursScriptEvent) clone();
-        event.internal = evt;
-        event.location = new LocationTag(evt.getExplosion().getLocation());
-        ListTag locs = new ListTag();
-        for (Location<World> loc : evt.getAffectedLocations()) {
-            locs.getInternal().add(new LocationTag(loc));
+        ExplosionOccursScriptEvent event = pool.acquire();
+        try {
+            event.internal = evt;
+            event.location = new LocationTag(evt.getExplosion().getLocation());
+            event.cancelled = evt.isCancelled();
+            event.run();
+            evt.setCancelled(event.cancelled);
         }
-        event.blocks = locs;
-        ListTag ents = new ListTag();
-        for (Entity ent : evt.getEntities()) {
-            ents.getInternal().add(new EntityTag(ent));
+        finally {
+            pool.release(event);
         }
-        event.entities = ents;
-        Explosion exp = evt.getExplosion();
-        MapTag data = new MapTag();
-        data.getInternal().put("radius", new NumberTag(exp.getRadius()));
-        data.getInternal().put("fire", BooleanTag.getForBoolean(exp.canCauseFire()));
-        data.getInternal().put("break_blocks", BooleanTag.getForBoolean(exp.shouldBreakBlocks()));
-        data.getInternal().put("damage_entities", BooleanTag.getForBoolean(exp.shouldDamageEntities()));
-        data.getInternal().put("smoke", BooleanTag.getForBoolean(exp.shouldPlaySmoke()));
-        event.explosion_data = data;
-        event.cancelled = evt.isCancelled();
-        event.run();
-        evt.setCancelled(event.cancelled);
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.denizenscript.denizen2core.events.ScriptEvent;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.events.D2SpongeEventHelper;
+import com.denizenscript.denizen2sponge.events.DeferredEvents;
 import com.denizenscript.denizen2sponge.tags.objects.WorldTag;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.Listener;
@@ -18,7 +19,7 @@ public class WorldLoadsScriptEvent extends ScriptEvent {
     // @Events
     // world loads
     //
-    // @Updated 2017/03/24
+    // @Updated 2026/10/17
     //
     // @Group World
     //
@@ -27,6 +28,7 @@ public class WorldLoadsScriptEvent extends ScriptEvent {
     // @Triggers when a world is loaded.
     //
     // @Switch world (WorldTag) checks the world.
+    // @Switch deferred (BooleanTag) sets whether the script path runs during a later tick instead of during the event. See <@link explanation Deferred Events>deferred events<@/link>.
     //
     // @Context
     // world (WorldTag) returns the world that was loaded.
@@ -42,12 +44,17 @@ public class WorldLoadsScriptEvent extends ScriptEvent {
 
     @Override
     public boolean couldMatch(ScriptEventData data) {
-        return data.eventPath.startsWith("world loads");
+        if (data.eventPath.startsWith("world loads")) {
+            DeferredEvents.register(this, data, this::error);
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean matches(ScriptEventData data) {
-        return D2SpongeEventHelper.checkWorld(world.getInternal(), data, this::error);
+        return DeferredEvents.checkTiming(deferredRun, data, this::error)
+                && D2SpongeEventHelper.checkWorld(world.getInternal(), data, this::error);
 
     }
 
@@ -55,6 +62,8 @@ public class WorldLoadsScriptEvent extends ScriptEvent {
 
     public LoadWorldEvent internal;
 
+    public boolean deferredRun;
+
     @Override
     public HashMap<String, AbstractTagObject> getDefinitions(ScriptEventData data) {
         HashMap<String, AbstractTagObject> defs = super.getDefinitions(data);
@@ -80,11 +89,24 @@ public class WorldLoadsScriptEvent extends ScriptEvent {
         event.cancelled = evt.isCancelled();
         event.run();
         evt.setCancelled(event.cancelled);
+        // Snapshot the context after the immediate paths ran, so deferred paths see the final outcome
+        if (!event.cancelled && DeferredEvents.hasDeferred(this)) {
+            WorldLoadsScriptEvent deferred = (WorldLoadsScriptEvent) event.clone();
+            deferred.deferredRun = true;
+            // The queued snapshot must not see later changes to the Sponge event, nor keep it alive
+            deferred.internal = null;
+            DeferredEvents.enqueue(deferred);
+        }
     }
 
     @Override
     public void applyDetermination(boolean errors, String determination, AbstractTagObject value) {
-        super.applyDetermination(errors, determination, value);
+        if (deferredRun) {
+            error("Deferred script paths cannot apply determinations!");
+        }
+        else {
+            super.applyDetermination(errors, determination, value);
+        }
     }
 }
 
@@ -6,7 +6,6 @@ import com.denizenscript.denizen2core.commands.CommandQueue;
 import com.denizenscript.denizen2core.scripts.CommandScript;
 import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.objects.BooleanTag;
-import com.denizenscript.denizen2core.tags.objects.MapTag;
 import com.denizenscript.denizen2core.tags.objects.ScriptTag;
 import com.denizenscript.denizen2core.utilities.Action;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
@@ -23,6 +22,7 @@ import com.denizenscript.denizen2sponge.utilities.DataKeys;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMapDataImpl;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.key.Keys;
@@ -192,21 +192,21 @@ public class ItemScript extends CommandScript {
             }
             its.add(Keys.ITEM_LORE, loreVal);
         }
-        MapTag flagsMap;
+        FlagTable flagsMap;
         Optional<FlagMap> fm = baseMat.getInternal().get(FlagHelper.FLAGMAP);
         if (fm.isPresent()) {
-            flagsMap = new MapTag(fm.get().flags.getInternal());
+            flagsMap = fm.get().getModifiableFlags();
         }
         else {
-            flagsMap = new MapTag();
+            flagsMap = new FlagTable();
         }
         if (flags != null) {
             for (Tuple<String, Argument> flagVal : flags) {
-                flagsMap.getInternal().put(flagVal.one, parseVal(queue, flagVal.two, varBack));
+                flagsMap.put(flagVal.one, parseVal(queue, flagVal.two, varBack));
             }
         }
         if (plain == null || !BooleanTag.getFor(queue.error, parseVal(queue, plain, varBack)).getInternal()) {
-            flagsMap.getInternal().put("_d2_script", new ScriptTag(this));
+            flagsMap.put("_d2_script", new ScriptTag(this));
         }
         ItemStack toRet = its.build();
         if (otherValues != null) {
@@ -220,7 +220,7 @@ public class ItemScript extends CommandScript {
                 DataKeys.tryApply(toRet, k, parseVal(queue, input.two, varBack), queue.error);
             }
         }
-        if (!flagsMap.getInternal().isEmpty()) {
+        if (!flagsMap.isEmpty()) {
             toRet.offer(new FlagMapDataImpl(new FlagMap(flagsMap)));
         }
         if (queue == Denizen2Sponge.FORCE_TO_STATIC && contents.contains("static")
@@ -9,7 +9,10 @@ import com.denizenscript.denizen2core.utilities.Function2;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.tags.objects.*;
 import com.denizenscript.denizen2sponge.utilities.BossBars;
+import com.denizenscript.denizen2sponge.utilities.PlayerIndex;
 import com.denizenscript.denizen2sponge.utilities.Utilities;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagExpiry;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.advancement.Advancement;
 import org.spongepowered.api.block.BlockType;
@@ -55,19 +58,13 @@ public class ServerTagBase extends AbstractTagBase {
         // <--[tag]
         // @Since 0.3.0
         // @Name ServerBaseTag.online_players
-        // @Updated 2017/08/31
+        // @Updated 2026/10/17
         // @Group Server Information
         // @ReturnType ListTag<PlayerTag>
         // @Returns a list of all the current online players on the server.
         // -->
-        handlers.put("online_players", (dat, obj) -> {
-            // TODO: Offline players tag too!
-            ListTag list = new ListTag();
-            for (Player player : (Sponge.getServer().getOnlinePlayers())) {
-                list.getInternal().add(new PlayerTag(player));
-            }
-            return list;
-        });
+        // TODO: Offline players tag too!
+        handlers.put("online_players", (dat, obj) -> PlayerIndex.getOnlinePlayers());
         // <--[tag]
         // @Since 0.3.0
         // @Name ServerBaseTag.tps
@@ -180,8 +177,7 @@ public class ServerTagBase extends AbstractTagBase {
         // -->
         handlers.put("has_flag", (dat, obj) -> {
             String flagName = CoreUtilities.toLowerCase(dat.getNextModifier().toString());
-            MapTag flags = Denizen2Sponge.instance.serverFlagMap;
-            return BooleanTag.getForBoolean(Utilities.flagIsValidAndNotExpired(dat.error, flags, flagName));
+            return BooleanTag.getForBoolean(Denizen2Sponge.instance.serverFlags.isValid(flagName));
         });
         // <--[tag]
         // @Since 0.3.0
@@ -192,12 +188,9 @@ public class ServerTagBase extends AbstractTagBase {
         // @Returns the list of invalid (expired) flags on the server.
         // -->
         handlers.put("dead_flags", (dat, obj) -> {
-            MapTag flags = Denizen2Sponge.instance.serverFlagMap;
             ListTag invalid = new ListTag();
-            for (Map.Entry<String, AbstractTagObject> flag : flags.getInternal().entrySet()) {
-                if (!Utilities.flagIsValidAndNotExpired(dat.error, flags, flag.getKey())) {
-                    invalid.getInternal().add(new TextTag(flag.getKey()));
-                }
+            for (String flag : Denizen2Sponge.instance.serverFlags.getExpired(FlagExpiry.currentTimeMillis())) {
+                invalid.getInternal().add(new TextTag(flag));
             }
             return invalid;
         });
@@ -211,32 +204,19 @@ public class ServerTagBase extends AbstractTagBase {
         // Optionally don't specify anything to get the entire flag map.
         // -->
         handlers.put("flag", (dat, obj) -> {
-            MapTag flags = Denizen2Sponge.instance.serverFlagMap;
+            FlagTable flags = Denizen2Sponge.instance.serverFlags;
             if (!dat.hasNextModifier()) {
-                MapTag valid = new MapTag();
-                for (Map.Entry<String, AbstractTagObject> flag : flags.getInternal().entrySet()) {
-                    if (Utilities.flagIsValidAndNotExpired(dat.error, flags, flag.getKey())) {
-                        MapTag mt = MapTag.getFor(dat.checkedError, flag.getKey());
-                        valid.getInternal().put(flag.getKey(), mt.getInternal().get("value"));
-                    }
-                }
-                return valid;
+                return flags.toValueMap();
             }
             String flagName = CoreUtilities.toLowerCase(dat.getNextModifier().toString());
-            if (!Utilities.flagIsValidAndNotExpired(dat.error, flags, flagName)) {
+            AbstractTagObject value = flags.getValid(flagName);
+            if (value == null) {
                 if (!dat.hasFallback()) {
                     dat.error.run("Invalid flag specified, not present on the server!");
                 }
                 return NullTag.NULL;
             }
-            MapTag smap = MapTag.getFor(dat.checkedError, flags.getInternal().get(flagName));
-            if (smap == null) {
-                if (!dat.hasFallback()) {
-                    dat.error.run("Invalid flag specified, not present on the server!");
-                }
-                return NullTag.NULL;
-            }
-            return smap.getInternal().get("value");
+            return value;
         });
         // <--[tag]
         // @Since 0.4.0
@@ -308,7 +288,7 @@ public class ServerTagBase extends AbstractTagBase {
         // <--[tag]
         // @Since 0.5.5
         // @Name ServerBaseTag.match_player[<TextTag>]
-        // @Updated 2018/06/15
+        // @Updated 2026/10/17
         // @Group Server Tools
         // @ReturnType PlayerTag
         // @Returns the online player that best matches the input name.
@@ -329,24 +309,11 @@ public class ServerTagBase extends AbstractTagBase {
                 // Ignore.
             }
             // TODO: Offline tag as well (match_offline_player, matches any player without requiring online)
-            Collection<Player> players = Sponge.getServer().getOnlinePlayers();
-            // TODO: Efficiency? Lowercasing player name 3x for each player in list worst case...
-            for (Player player : players) {
-                if (CoreUtilities.toLowerCase(player.getName()).equals(matchInput)) {
-                    return new PlayerTag(player);
-                }
-            }
-            for (Player player : players) {
-                if (CoreUtilities.toLowerCase(player.getName()).startsWith(matchInput)) {
-                    return new PlayerTag(player);
-                }
-            }
-            for (Player player : players) {
-                if (CoreUtilities.toLowerCase(player.getName()).contains(matchInput)) {
-                    return new PlayerTag(player);
-                }
+            Player player = PlayerIndex.match(matchInput);
+            if (player == null) {
+                return NullTag.NULL;
             }
-            return NullTag.NULL;
+            return new PlayerTag(player);
         });
     }
 
@@ -10,6 +10,8 @@ import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.block.BlockType;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BlockTypeTag extends AbstractTagObject {
 
@@ -41,6 +43,15 @@ public class BlockTypeTag extends AbstractTagObject {
         return internal;
     }
 
+    private static final Map<BlockType, BlockTypeTag> interned = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared tag instance for a block type.
+     */
+    public static BlockTypeTag of(BlockType type) {
+        return interned.computeIfAbsent(type, BlockTypeTag::new);
+    }
+
     public final static HashMap<String, Function2<TagData, AbstractTagObject, AbstractTagObject>> handlers = new HashMap<>();
 
     static {
@@ -84,7 +95,7 @@ public class BlockTypeTag extends AbstractTagObject {
             error.run("Invalid BlockTypeTag input!");
             return null;
         }
-        return new BlockTypeTag(blockType);
+        return BlockTypeTag.of(blockType);
     }
 
     public static BlockTypeTag getFor(Action<String> error, AbstractTagObject text) {
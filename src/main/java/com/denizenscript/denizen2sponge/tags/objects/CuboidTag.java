@@ -4,13 +4,13 @@ import com.denizenscript.denizen2core.tags.AbstractTagObject;
 import com.denizenscript.denizen2core.tags.TagData;
 import com.denizenscript.denizen2core.tags.objects.BooleanTag;
 import com.denizenscript.denizen2core.tags.objects.ListTag;
-import com.denizenscript.denizen2core.tags.objects.NumberTag;
 import com.denizenscript.denizen2core.tags.objects.TextTag;
 import com.denizenscript.denizen2core.utilities.Action;
-import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.Function2;
+import com.denizenscript.denizen2sponge.utilities.LocationParser;
 import com.denizenscript.denizen2sponge.utilities.UtilCuboid;
 import com.denizenscript.denizen2sponge.utilities.UtilLocation;
+import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.util.AABB;
 import org.spongepowered.api.world.Location;
@@ -134,23 +134,13 @@ public class CuboidTag extends AbstractTagObject {
     }
 
     public static CuboidTag getFor(Action<String> error, String text) {
-        List<String> split = CoreUtilities.split(text, '/', 3);
-        if (split.size() != 3) {
-            error.run("Invalid Cuboid tag specifications!");
+        LocationParser.Parsed parsed = LocationParser.parseCuboid(error, text);
+        if (parsed == null) {
             return null;
         }
-        List<String> mins = CoreUtilities.split(split.get(0), ',', 3);
-        NumberTag x = NumberTag.getFor(error, mins.get(0));
-        NumberTag y = NumberTag.getFor(error, mins.get(1));
-        NumberTag z = NumberTag.getFor(error, mins.get(2));
-        List<String> maxes = CoreUtilities.split(split.get(1), ',', 3);
-        NumberTag x2 = NumberTag.getFor(error, maxes.get(0));
-        NumberTag y2 = NumberTag.getFor(error, maxes.get(1));
-        NumberTag z2 = NumberTag.getFor(error, maxes.get(2));
-        String worldn = split.get(2);
-        WorldTag world = WorldTag.getFor(error, worldn);
-        return new CuboidTag(new UtilLocation(x.getInternal(), y.getInternal(), z.getInternal(), world.getInternal()),
-                new UtilLocation(x2.getInternal(), y2.getInternal(), z2.getInternal(), world.getInternal()));
+        World world = parsed.getWorld(error);
+        return new CuboidTag(new UtilLocation(parsed.get(0), parsed.get(1), parsed.get(2), world),
+                new UtilLocation(parsed.get(3), parsed.get(4), parsed.get(5), world));
     }
 
     public static CuboidTag getFor(Action<String> error, AbstractTagObject text) {
@@ -173,14 +163,23 @@ public class CuboidTag extends AbstractTagObject {
         return "CuboidTag";
     }
 
+    @Override
+    public String savable() {
+        return appendTo(Utilities.getBuilder().append(getTagTypeName()).append(saveMark())).toString();
+    }
+
     @Override
     public String toString() {
-        return CoreUtilities.doubleToString(internal.min.x) + ","
-                + CoreUtilities.doubleToString(internal.min.y) + ","
-                + CoreUtilities.doubleToString(internal.min.z) + "/"
-                + CoreUtilities.doubleToString(internal.max.x) + ","
-                + CoreUtilities.doubleToString(internal.max.y) + ","
-                + CoreUtilities.doubleToString(internal.max.z) + "/"
-                + internal.min.world.getName();
+        return appendTo(Utilities.getBuilder()).toString();
+    }
+
+    public StringBuilder appendTo(StringBuilder sb) {
+        Utilities.appendDouble(sb, internal.min.x).append(',');
+        Utilities.appendDouble(sb, internal.min.y).append(',');
+        Utilities.appendDouble(sb, internal.min.z).append('/');
+        Utilities.appendDouble(sb, internal.max.x).append(',');
+        Utilities.appendDouble(sb, internal.max.y).append(',');
+        Utilities.appendDouble(sb, internal.max.z).append('/');
+        return sb.append(internal.min.world.getName());
     }
 }
@@ -8,10 +8,12 @@ import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.Function2;
 import com.denizenscript.denizen2sponge.spongescripts.EntityScript;
 import com.denizenscript.denizen2sponge.utilities.DataKeys;
+import com.denizenscript.denizen2sponge.utilities.EntityIndex;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import com.denizenscript.denizen2sponge.utilities.Utilities;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
-import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
-import org.spongepowered.api.Sponge;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagCache;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagExpiry;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.data.property.entity.EyeHeightProperty;
@@ -67,17 +69,11 @@ public class EntityTag extends AbstractTagObject {
     public final static HashMap<String, Function2<TagData, AbstractTagObject, AbstractTagObject>> handlers = new HashMap<>();
 
     public EntityScript getSourceScript() {
-        Optional<FlagMap> fm = internal.get(FlagHelper.FLAGMAP);
-        if (fm.isPresent()) {
-            MapTag flags = fm.get().flags;
-            if (flags.getInternal().containsKey("_d2_script")) {
-                AbstractTagObject scriptObj = flags.getInternal().get("_d2_script");
-                if (scriptObj instanceof ScriptTag) {
-                    ScriptTag script = (ScriptTag) scriptObj;
-                    if (script.getInternal() instanceof EntityScript) {
-                        return (EntityScript) script.getInternal();
-                    }
-                }
+        AbstractTagObject scriptObj = FlagCache.getFlags(internal).get("_d2_script");
+        if (scriptObj instanceof ScriptTag) {
+            ScriptTag script = (ScriptTag) scriptObj;
+            if (script.getInternal() instanceof EntityScript) {
+                return (EntityScript) script.getInternal();
             }
         }
         return null;
@@ -101,7 +97,7 @@ public class EntityTag extends AbstractTagObject {
         // @ReturnType EntiyTypeTag
         // @Returns the type of this entity.
         // -->
-        handlers.put("entity_type", (dat, obj) -> new EntityTypeTag(((EntityTag) obj).internal.getType()));
+        handlers.put("entity_type", (dat, obj) -> EntityTypeTag.of(((EntityTag) obj).internal.getType()));
         // <--[tag]
         // @Since 0.3.0
         // @Name EntityTag.friendly_name
@@ -128,7 +124,7 @@ public class EntityTag extends AbstractTagObject {
         // @ReturnType LocationTag
         // @Returns the location of the entity.
         // -->
-        handlers.put("location", (dat, obj) -> new LocationTag(((EntityTag) obj).internal.getLocation()));
+        handlers.put("location", TagMemo.entity("location", (dat, obj) -> new LocationTag(((EntityTag) obj).internal.getLocation())));
         // <--[tag]
         // @Since 0.3.0
         // @Name EntityTag.rotation
@@ -173,7 +169,7 @@ public class EntityTag extends AbstractTagObject {
         // @ReturnType NumberTag
         // @Returns the current health value of the entity (0 is dead, max_health is fully alive).
         // -->
-        handlers.put("health", (dat, obj) -> new NumberTag(((Living) ((EntityTag) obj).internal).health().get()));
+        handlers.put("health", TagMemo.entity("health", (dat, obj) -> new NumberTag(((Living) ((EntityTag) obj).internal).health().get())));
         // <--[tag]
         // @Since 0.3.0
         // @Name EntityTag.max_health
@@ -183,7 +179,7 @@ public class EntityTag extends AbstractTagObject {
         // @Returns the maximum health value this entity may currently have
         // (IE, if the entity health is equal to this value, they are fully alive).
         // -->
-        handlers.put("max_health", (dat, obj) -> new NumberTag(((Living) ((EntityTag) obj).internal).maxHealth().get()));
+        handlers.put("max_health", TagMemo.entity("max_health", (dat, obj) -> new NumberTag(((Living) ((EntityTag) obj).internal).maxHealth().get())));
         // <--[tag]
         // @Since 0.3.0
         // @Name EntityTag.health_percentage
@@ -286,16 +282,7 @@ public class EntityTag extends AbstractTagObject {
         // -->
         handlers.put("has_flag", (dat, obj) -> {
             String flagName = CoreUtilities.toLowerCase(dat.getNextModifier().toString());
-            MapTag flags;
-            Entity e = ((EntityTag) obj).internal;
-            Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
-            if (fm.isPresent()) {
-                flags = fm.get().flags;
-            }
-            else {
-                flags = new MapTag();
-            }
-            return BooleanTag.getForBoolean(Utilities.flagIsValidAndNotExpired(dat.error, flags, flagName));
+            return BooleanTag.getForBoolean(FlagCache.getFlags(((EntityTag) obj).internal).isValid(flagName));
         });
         // <--[tag]
         // @Since 0.3.0
@@ -306,20 +293,9 @@ public class EntityTag extends AbstractTagObject {
         // @Returns the list of invalid (expired) flags on this entity.
         // -->
         handlers.put("dead_flags", (dat, obj) -> {
-            MapTag flags;
-            Entity e = ((EntityTag) obj).internal;
-            Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
-            if (fm.isPresent()) {
-                flags = fm.get().flags;
-            }
-            else {
-                flags = new MapTag();
-            }
             ListTag invalid = new ListTag();
-            for (Map.Entry<String, AbstractTagObject> flag : flags.getInternal().entrySet()) {
-                if (!Utilities.flagIsValidAndNotExpired(dat.error, flags, flag.getKey())) {
-                    invalid.getInternal().add(new TextTag(flag.getKey()));
-                }
+            for (String flag : FlagCache.getFlags(((EntityTag) obj).internal).getExpired(FlagExpiry.currentTimeMillis())) {
+                invalid.getInternal().add(new TextTag(flag));
             }
             return invalid;
         });
@@ -333,40 +309,19 @@ public class EntityTag extends AbstractTagObject {
         // Optionally don't specify anything to get the entire flag map.
         // -->
         handlers.put("flag", (dat, obj) -> {
-            MapTag flags;
-            Entity e = ((EntityTag) obj).internal;
-            Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
-            if (fm.isPresent()) {
-                flags = fm.get().flags;
-            }
-            else {
-                flags = new MapTag();
-            }
+            FlagTable flags = FlagCache.getFlags(((EntityTag) obj).internal);
             if (!dat.hasNextModifier()) {
-                MapTag valid = new MapTag();
-                for (Map.Entry<String, AbstractTagObject> flag : flags.getInternal().entrySet()) {
-                    if (Utilities.flagIsValidAndNotExpired(dat.error, flags, flag.getKey())) {
-                        MapTag mt = MapTag.getFor(dat.checkedError, flag.getKey());
-                        valid.getInternal().put(flag.getKey(), mt.getInternal().get("value"));
-                    }
-                }
-                return valid;
+                return flags.toValueMap();
             }
             String flagName = CoreUtilities.toLowerCase(dat.getNextModifier().toString());
-            if (!Utilities.flagIsValidAndNotExpired(dat.error, flags, flagName)) {
+            AbstractTagObject value = flags.getValid(flagName);
+            if (value == null) {
                 if (!dat.hasFallback()) {
                     dat.error.run("Invalid flag specified, not present on this entity!");
                 }
                 return NullTag.NULL;
             }
-            MapTag smap = MapTag.getFor(dat.checkedError, flags.getInternal().get(flagName));
-            if (smap == null) {
-                if (!dat.hasFallback()) {
-                    dat.error.run("Invalid flag specified, not present on this entity!");
-                }
-                return NullTag.NULL;
-            }
-            return smap.getInternal().get("value");
+            return value;
         });
         // <--[tag]
         // @Since 0.3.0
@@ -418,6 +373,15 @@ public class EntityTag extends AbstractTagObject {
         // -->
         handlers.put("on_ground", (dat, obj) -> BooleanTag.getForBoolean(((EntityTag) obj).internal.isOnGround()));
         // <--[tag]
+        // @Since 0.5.5
+        // @Name EntityTag.is_loaded
+        // @Updated 2026/10/17
+        // @Group Current Information
+        // @ReturnType BooleanTag
+        // @Returns whether this entity is still loaded in a world, as opposed to being dead, despawned or in an unloaded chunk.
+        // -->
+        handlers.put("is_loaded", (dat, obj) -> BooleanTag.getForBoolean(EntityIndex.isLoaded(((EntityTag) obj).internal)));
+        // <--[tag]
         // @Since 0.3.0
         // @Name EntityTag.scale
         // @Updated 2017/04/04
@@ -515,7 +479,7 @@ public class EntityTag extends AbstractTagObject {
         // @ReturnType BlockTypeTag
         // @Returns the block this falling block is representing. Falling block entities only.
         // -->
-        handlers.put("falling_block", (dat, obj) -> new BlockTypeTag(((FallingBlock) ((EntityTag) obj).internal).blockState().get().getType()));
+        handlers.put("falling_block", (dat, obj) -> BlockTypeTag.of(((FallingBlock) ((EntityTag) obj).internal).blockState().get().getType()));
         // <--[tag]
         // @Since 0.3.0
         // @Name EntityTag.can_drop_as_item
@@ -1027,11 +991,9 @@ public class EntityTag extends AbstractTagObject {
                 error.run("Invalid EntityTag UUID input (input is not a valid UUID)!");
                 return null;
             }
-            for (World world : Sponge.getServer().getWorlds()) {
-                Optional<Entity> e = world.getEntity(uuid);
-                if (e.isPresent()) {
-                    return new EntityTag(e.get());
-                }
+            Optional<Entity> e = EntityIndex.getEntity(uuid);
+            if (e.isPresent()) {
+                return new EntityTag(e.get());
             }
             error.run("Invalid EntityTag UUID input (that UUID cannot be matched to a real entity)!");
             return null;
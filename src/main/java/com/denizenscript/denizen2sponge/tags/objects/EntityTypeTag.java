@@ -10,6 +10,8 @@ import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.entity.EntityType;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EntityTypeTag extends AbstractTagObject {
 
@@ -41,6 +43,15 @@ public class EntityTypeTag extends AbstractTagObject {
         return internal;
     }
 
+    private static final Map<EntityType, EntityTypeTag> interned = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared tag instance for a entity type.
+     */
+    public static EntityTypeTag of(EntityType type) {
+        return interned.computeIfAbsent(type, EntityTypeTag::new);
+    }
+
     public final static HashMap<String, Function2<TagData, AbstractTagObject, AbstractTagObject>> handlers = new HashMap<>();
 
     static {
@@ -72,7 +83,7 @@ public class EntityTypeTag extends AbstractTagObject {
             error.run("Invalid EntityTypeTag input!");
             return null;
         }
-        return new EntityTypeTag(type);
+        return EntityTypeTag.of(type);
     }
 
     public static EntityTypeTag getFor(Action<String> error, AbstractTagObject text) {
@@ -14,6 +14,7 @@ import com.denizenscript.denizen2sponge.utilities.Utilities;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMapDataImpl;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.data.type.SkullType;
@@ -53,14 +54,11 @@ public class ItemTag extends AbstractTagObject {
     public ItemScript getSourceScript() {
         Optional<FlagMap> fm = internal.get(FlagHelper.FLAGMAP);
         if (fm.isPresent()) {
-            MapTag flags = fm.get().flags;
-            if (flags.getInternal().containsKey("_d2_script")) {
-                AbstractTagObject scriptObj = flags.getInternal().get("_d2_script");
-                if (scriptObj instanceof ScriptTag) {
-                    ScriptTag script = (ScriptTag) scriptObj;
-                    if (script.getInternal() instanceof ItemScript) {
-                        return (ItemScript) script.getInternal();
-                    }
+            AbstractTagObject scriptObj = fm.get().flags.get("_d2_script");
+            if (scriptObj instanceof ScriptTag) {
+                ScriptTag script = (ScriptTag) scriptObj;
+                if (script.getInternal() instanceof ItemScript) {
+                    return (ItemScript) script.getInternal();
                 }
             }
         }
@@ -115,20 +113,20 @@ public class ItemTag extends AbstractTagObject {
         // Optionally don't specify anything to get the entire flag map.
         // -->
         handlers.put("flag", (dat, obj) -> {
-            MapTag flags;
+            FlagTable flags;
             ItemStack e = ((ItemTag) obj).internal;
             Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
             if (fm.isPresent()) {
                 flags = fm.get().flags;
             }
             else {
-                flags = new MapTag();
+                flags = new FlagTable();
             }
             if (!dat.hasNextModifier()) {
-                return flags;
+                return flags.toValueMap();
             }
             String flagName = CoreUtilities.toLowerCase(dat.getNextModifier().toString());
-            AbstractTagObject ato = flags.getInternal().get(flagName);
+            AbstractTagObject ato = flags.getValid(flagName);
             if (ato == null) {
                 if (!dat.hasFallback()) {
                     dat.error.run("Invalid flag specified, not present on this item!");
@@ -165,16 +163,8 @@ public class ItemTag extends AbstractTagObject {
         // -->
         handlers.put("has_flag", (dat, obj) -> {
             String flagName = CoreUtilities.toLowerCase(dat.getNextModifier().toString());
-            MapTag flags;
-            ItemStack e = ((ItemTag) obj).internal;
-            Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
-            if (fm.isPresent()) {
-                flags = fm.get().flags;
-            }
-            else {
-                flags = new MapTag();
-            }
-            return BooleanTag.getForBoolean(flags.getInternal().containsKey(flagName));
+            Optional<FlagMap> fm = ((ItemTag) obj).internal.get(FlagHelper.FLAGMAP);
+            return BooleanTag.getForBoolean(fm.isPresent() && fm.get().flags.isValid(flagName));
         });
         // <--[tag]
         // @Since 0.3.0
@@ -184,7 +174,7 @@ public class ItemTag extends AbstractTagObject {
         // @ReturnType ItemTypeTag
         // @Returns the type of the item.
         // -->
-        handlers.put("item_type", (dat, obj) -> new ItemTypeTag(((ItemTag) obj).internal.getType()));
+        handlers.put("item_type", (dat, obj) -> ItemTypeTag.of(((ItemTag) obj).internal.getType()));
         // <--[tag]
         // @Since 0.3.0
         // @Name ItemTag.max_stack_quantity
@@ -289,17 +279,19 @@ public class ItemTag extends AbstractTagObject {
         // @Returns a copy of the item, with the specified flag adjustments.
         // -->
         handlers.put("with_flags", (dat, obj) -> {
-            MapTag flags;
+            FlagTable flags;
             ItemStack e = ((ItemTag) obj).internal.copy();
             Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
             if (fm.isPresent()) {
-                flags = new MapTag(fm.get().flags.getInternal());
+                flags = fm.get().getModifiableFlags();
             }
             else {
-                flags = new MapTag();
+                flags = new FlagTable();
             }
             MapTag toApply = MapTag.getFor(dat.checkedError, dat.getNextModifier());
-            flags.getInternal().putAll(toApply.getInternal());
+            for (Map.Entry<String, AbstractTagObject> flag : toApply.getInternal().entrySet()) {
+                flags.put(flag.getKey(), flag.getValue());
+            }
             e.offer(new FlagMapDataImpl(new FlagMap(flags)));
             return new ItemTag(e);
         });
@@ -354,17 +346,17 @@ public class ItemTag extends AbstractTagObject {
                 e.remove(FlagHelper.FLAGMAP);
                 return new ItemTag(e);
             }
-            MapTag flags;
+            FlagTable flags;
             Optional<FlagMap> fm = e.get(FlagHelper.FLAGMAP);
             if (fm.isPresent()) {
-                flags = new MapTag(fm.get().flags.getInternal());
+                flags = fm.get().getModifiableFlags();
             }
             else {
-                flags = new MapTag();
+                flags = new FlagTable();
             }
             ListTag toRemove = ListTag.getFor(dat.checkedError, dat.getNextModifier());
             for (AbstractTagObject k : toRemove.getInternal()) {
-                flags.getInternal().remove(k.toString());
+                flags.remove(k.toString());
             }
             e.offer(new FlagMapDataImpl(new FlagMap(flags)));
             return new ItemTag(e);
@@ -10,6 +10,8 @@ import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.item.ItemType;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ItemTypeTag extends AbstractTagObject {
 
@@ -31,6 +33,15 @@ public class ItemTypeTag extends AbstractTagObject {
         return internal;
     }
 
+    private static final Map<ItemType, ItemTypeTag> interned = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared tag instance for a item type.
+     */
+    public static ItemTypeTag of(ItemType type) {
+        return interned.computeIfAbsent(type, ItemTypeTag::new);
+    }
+
     public final static HashMap<String, Function2<TagData, AbstractTagObject, AbstractTagObject>> handlers = new HashMap<>();
 
     static {
@@ -74,7 +85,7 @@ public class ItemTypeTag extends AbstractTagObject {
             error.run("Invalid ItemTypeTag input!");
             return null;
         }
-        return new ItemTypeTag(itemType);
+        return ItemTypeTag.of(itemType);
     }
 
     public static ItemTypeTag getFor(Action<String> error, AbstractTagObject text) {
@@ -7,7 +7,11 @@ import com.denizenscript.denizen2core.utilities.Action;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.Function2;
 import com.denizenscript.denizen2sponge.utilities.DataKeys;
+import com.denizenscript.denizen2sponge.utilities.LocationParser;
+import com.denizenscript.denizen2sponge.utilities.Regions;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import com.denizenscript.denizen2sponge.utilities.UtilLocation;
+import com.denizenscript.denizen2sponge.utilities.Utilities;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.Sponge;
@@ -101,7 +105,7 @@ public class LocationTag extends AbstractTagObject {
         // @Returns the type of the block at the location.
         // @Example "0,1,2,world" .block_type may return "stone".
         // -->
-        handlers.put("block_type", (dat, obj) -> new BlockTypeTag(((LocationTag) obj).internal.toLocation().getBlockType()));
+        handlers.put("block_type", TagMemo.block("block_type", (dat, obj) -> BlockTypeTag.of(((LocationTag) obj).internal.toLocation().getBlockType())));
         // <--[tag]
         // @Since 0.3.0
         // @Name LocationTag.block
@@ -405,7 +409,7 @@ public class LocationTag extends AbstractTagObject {
         // @Returns the biome type of this location.
         // Related information: <@link explanation Biome Types>biome types<@/link>
         // -->
-        handlers.put("biome", (dat, obj) -> new TextTag(CoreUtilities.toLowerCase(((LocationTag) obj).internal.toLocation().getBiome().getName())));
+        handlers.put("biome", TagMemo.block("biome", (dat, obj) -> new TextTag(CoreUtilities.toLowerCase(((LocationTag) obj).internal.toLocation().getBiome().getName()))));
         // <--[tag]
         // @Since 0.3.0
         // @Name LocationTag.find_safe_location[<MapTag>]
@@ -555,6 +559,27 @@ public class LocationTag extends AbstractTagObject {
         // @Returns the location on top of the highest solid block on this location's column.
         // -->
         handlers.put("highest_location", (dat, obj) -> new LocationTag(((LocationTag) obj).internal.toLocation().asHighestLocation()));
+        // <--[tag]
+        // @Since 0.5.5
+        // @Name LocationTag.regions
+        // @Updated 2026/10/17
+        // @Group World Data
+        // @ReturnType ListTag<TextTag>
+        // @Returns the names of all regions that contain this location.
+        // Related commands: <@link command createregion>createregion<@/link>.
+        // -->
+        handlers.put("regions", (dat, obj) -> {
+            UtilLocation loc = ((LocationTag) obj).internal;
+            if (loc.world == null) {
+                dat.error.run("This location has no world!");
+                return NullTag.NULL;
+            }
+            ListTag list = new ListTag();
+            for (String name : Regions.getNamesAt(loc)) {
+                list.getInternal().add(new TextTag(name));
+            }
+            return list;
+        });
     }
 
     public static double LengthSquared(Location<World> loc) {
@@ -562,15 +587,14 @@ public class LocationTag extends AbstractTagObject {
     }
 
     public static LocationTag getFor(Action<String> error, String text) {
-        List<String> split = CoreUtilities.split(text, ',', 4);
-        NumberTag x = NumberTag.getFor(error, split.get(0));
-        NumberTag y = NumberTag.getFor(error, split.get(1));
-        NumberTag z = NumberTag.getFor(error, split.get(2));
-        if (split.size() == 3) {
-            return new LocationTag(x.getInternal(), y.getInternal(), z.getInternal());
+        LocationParser.Parsed parsed = LocationParser.parseLocation(error, text);
+        if (parsed == null) {
+            return null;
         }
-        WorldTag world = WorldTag.getFor(error, split.get(3));
-        return new LocationTag(x.getInternal(), y.getInternal(), z.getInternal(), world.getInternal());
+        if (parsed.worldName == null) {
+            return new LocationTag(parsed.get(0), parsed.get(1), parsed.get(2));
+        }
+        return new LocationTag(parsed.get(0), parsed.get(1), parsed.get(2), parsed.getWorld(error));
     }
 
     public static LocationTag getFor(Action<String> error, AbstractTagObject text) {
@@ -593,14 +617,23 @@ public class LocationTag extends AbstractTagObject {
         return "LocationTag";
     }
 
+    @Override
+    public String savable() {
+        return appendTo(Utilities.getBuilder().append(getTagTypeName()).append(saveMark())).toString();
+    }
+
     @Override
     public String toString() {
-        String s = CoreUtilities.doubleToString(internal.x) + ","
-                + CoreUtilities.doubleToString(internal.y) + ","
-                + CoreUtilities.doubleToString(internal.z);
+        return appendTo(Utilities.getBuilder()).toString();
+    }
+
+    public StringBuilder appendTo(StringBuilder sb) {
+        Utilities.appendDouble(sb, internal.x).append(',');
+        Utilities.appendDouble(sb, internal.y).append(',');
+        Utilities.appendDouble(sb, internal.z);
         if (internal.world != null) {
-            s += "," + internal.world.getName();
+            sb.append(',').append(internal.world.getName());
         }
-        return s;
+        return sb;
     }
 }
@@ -7,6 +7,7 @@ import com.denizenscript.denizen2core.utilities.Action;
 import com.denizenscript.denizen2core.utilities.CoreUtilities;
 import com.denizenscript.denizen2core.utilities.Function2;
 import com.denizenscript.denizen2core.utilities.debugging.Debug;
+import com.denizenscript.denizen2sponge.utilities.TagMemo;
 import com.denizenscript.denizen2sponge.utilities.Utilities;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.advancement.Advancement;
@@ -134,13 +135,13 @@ public class PlayerTag extends AbstractTagObject {
         // @ReturnType TextTag
         // @Returns the gamemode of the player. ONLINE-PLAYERS-ONLY.
         // -->
-        handlers.put("gamemode", (dat, obj) -> {
+        handlers.put("gamemode", TagMemo.player("gamemode", (dat, obj) -> {
             Player pl = ((PlayerTag) obj).getOnline();
             if (pl == null) {
                 return offlineFault(dat);
             }
             return new TextTag(pl.gameMode().get().toString());
-        });
+        }));
         // <--[tag]
         // @Since 0.5.0
         // @Name PlayerTag.has_permission[<TextTag>]
@@ -149,9 +150,9 @@ public class PlayerTag extends AbstractTagObject {
         // @ReturnType BooleanTag
         // @Returns whether the player has a specific permission node.
         // -->
-        handlers.put("has_permission", (dat, obj) -> {
-            return BooleanTag.getForBoolean(((PlayerTag) obj).internal.hasPermission(dat.getNextModifier().toString()));
-        });
+        handlers.put("has_permission", TagMemo.player("has_permission", (dat, obj, modifier) -> {
+            return BooleanTag.getForBoolean(((PlayerTag) obj).internal.hasPermission(modifier.toString()));
+        }));
         // <--[tag]
         // @Since 0.4.0
         // @Name PlayerTag.has_advancement[<TextTag>]
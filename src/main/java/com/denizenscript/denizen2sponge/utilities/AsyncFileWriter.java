@@ -0,0 +1,77 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import com.denizenscript.denizen2core.utilities.debugging.Debug;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.concurrent.*;
+
+/**
+ * Writes data files on a background thread.
+ * Writes to the same file are coalesced: only the latest text submitted for a file is written,
+ * so a file is never overwritten with older text than was last submitted for it.
+ */
+public class AsyncFileWriter {
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor((r) -> {
+        Thread thread = new Thread(r, "Denizen2Sponge File Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The latest text waiting to be written for each file; a file has a queued write task exactly while it has an entry here
+    private static final ConcurrentHashMap<File, String> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queues the text to be written to the file, replacing its contents.
+     * The text must already be fully built, as it is not read until the write happens.
+     */
+    public static void write(File file, String text) {
+        if (pending.put(file, text) == null) {
+            executor.execute(() -> {
+                String latest = pending.remove(file);
+                if (latest != null) {
+                    writeNow(file, latest);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the text to the file on the calling thread, replacing its contents.
+     * Only use when no writes to the file are queued, such as after a flush.
+     */
+    public static void writeNow(File file, String text) {
+        try {
+            OutputStream os = new FileOutputStream(file, false);
+            OutputStreamWriter osw = new OutputStreamWriter(os);
+            osw.write(text);
+            osw.flush();
+            os.flush();
+            osw.close();
+            os.close();
+        }
+        catch (Exception e) {
+            Debug.exception(e);
+        }
+    }
+
+    /**
+     * Waits for all queued writes to finish. Called when the server stops.
+     */
+    public static void flush() {
+        // The writer runs tasks in order, so once this empty task has run, every write queued before it has finished
+        try {
+            executor.submit(() -> {
+            }).get(30, TimeUnit.SECONDS);
+        }
+        catch (TimeoutException e) {
+            Debug.error("Timed out waiting for data files to be written!");
+        }
+        catch (InterruptedException | ExecutionException e) {
+            Debug.exception(e);
+        }
+    }
+}
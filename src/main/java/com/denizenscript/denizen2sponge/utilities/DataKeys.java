@@ -9,9 +9,11 @@ import com.denizenscript.denizen2core.utilities.debugging.Debug;
 import com.denizenscript.denizen2sponge.Denizen2Sponge;
 import com.denizenscript.denizen2sponge.tags.objects.FormattedTextTag;
 import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagCache;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagHelper;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMap;
 import com.denizenscript.denizen2sponge.utilities.flags.FlagMapDataImpl;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
 import com.flowpowered.math.vector.Vector3d;
 import com.google.common.reflect.TypeToken;
 import org.spongepowered.api.CatalogType;
@@ -20,107 +22,214 @@ import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.ImmutableDataHolder;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.item.inventory.ItemStack;
 import org.spongepowered.api.text.Text;
+import org.spongepowered.api.world.Location;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 public class DataKeys {
 
-    private static Collection<Key> keys;
-    private static int lastUpdate;
+    private static volatile Collection<Key> keys;
+    private static volatile Map<String, Key> keysByName;
+    private static final Map<Object, List<Key>> supportedKeys = new ConcurrentHashMap<>();
+    private static final Map<Key, KeyConverter> converters = new ConcurrentHashMap<>();
+
+    /**
+     * Drops the key index, so it is rebuilt from the registry on next use.
+     * Called when keys are registered and whenever scripts are reloaded.
+     */
+    public static synchronized void invalidate() {
+        keys = null;
+        keysByName = null;
+        supportedKeys.clear();
+        converters.clear();
+    }
 
     private static void updateKeys() {
-        int currentTime = Sponge.getServer().getRunningTimeTicks();
-        if (currentTime != lastUpdate) {
-            lastUpdate = currentTime;
-            keys = new HashSet<>(Sponge.getRegistry().getAllOf(Key.class));
-            keys.add(FlagHelper.FLAGMAP); // TODO: Make this not needed! GetAllOf shouldn't require manual key registration!
+        if (keys == null) {
+            buildKeys();
         }
     }
 
-    public static Key getKeyForName(String name) {
-        updateKeys();
-        name = CoreUtilities.toLowerCase(name);
-        for (Key key : keys) {
-            if (name.equals(CoreUtilities.after(key.getId(), ":"))
-                    || name.equals(key.getId())) {
-                return key;
+    private static synchronized Map<String, Key> buildKeys() {
+        if (keys != null) {
+            return keysByName;
+        }
+        Collection<Key> all = new LinkedHashSet<>(Sponge.getRegistry().getAllOf(Key.class));
+        all.add(FlagHelper.FLAGMAP); // TODO: Make this not needed! GetAllOf shouldn't require manual key registration!
+        Map<String, Key> byName = new HashMap<>();
+        Map<String, Key> byShortName = new HashMap<>();
+        for (Key key : all) {
+            String id = CoreUtilities.toLowerCase(key.getId());
+            byName.put(id, key);
+            String shortName = CoreUtilities.after(id, ":");
+            Key old = byShortName.putIfAbsent(shortName, key);
+            if (old != null && old != key) {
+                Debug.error("Data key name '" + shortName + "' is ambiguous between '" + old.getId() + "' and '"
+                        + key.getId() + "', and will refer to '" + old.getId() + "'! Use the full key ID to pick one.");
             }
         }
-        return null;
+        // Full IDs take priority over short names
+        for (Map.Entry<String, Key> entry : byShortName.entrySet()) {
+            byName.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        keysByName = byName;
+        keys = all;
+        return byName;
+    }
+
+    public static Key getKeyForName(String name) {
+        Map<String, Key> byName = keysByName;
+        if (byName == null) {
+            byName = buildKeys();
+        }
+        return byName.get(CoreUtilities.toLowerCase(name));
+    }
+
+    /**
+     * Gets what determines the set of keys a data holder supports: the item type for items,
+     * the block type for locations, and the class for anything else (such as entities).
+     */
+    private static Object getHolderKind(DataHolder dataHolder) {
+        if (dataHolder instanceof ItemStack) {
+            return ((ItemStack) dataHolder).getType();
+        }
+        if (dataHolder instanceof Location) {
+            return ((Location) dataHolder).getBlockType();
+        }
+        return dataHolder.getClass();
+    }
+
+    /**
+     * Gets the keys supported by this kind of data holder, checking support for every key only the first time the kind is seen.
+     * The flag map key is never included, as its support depends on whether the specific holder has been flagged.
+     */
+    private static List<Key> getSupportedKeys(DataHolder dataHolder) {
+        return supportedKeys.computeIfAbsent(getHolderKind(dataHolder), (k) -> {
+            updateKeys();
+            List<Key> res = new ArrayList<>();
+            for (Key key : keys) {
+                if (key != FlagHelper.FLAGMAP && dataHolder.supports(key)) {
+                    res.add(key);
+                }
+            }
+            return res;
+        });
     }
 
     public static MapTag getAllKeys(DataHolder dataHolder) {
+        if (dataHolder instanceof Entity) {
+            FlagCache.flush((Entity) dataHolder);
+        }
         MapTag temp = new MapTag();
-        updateKeys();
-        for (Key key : keys) {
-            if (!dataHolder.supports(key)) {
-                continue;
-            }
-            if (dataHolder.getOrNull(key) == null) {
-                // Nope nope nope!
-                continue;
-            }
-            AbstractTagObject ato = getValue(dataHolder, key, (s) -> {
-                Debug.error("Failed to read key '" + key.getId() + "': " + s);
-            });
-            if (ato != null && !(ato instanceof NullTag)) {
-                temp.getInternal().put(key.getId(), ato);
-            }
+        for (Key key : getSupportedKeys(dataHolder)) {
+            addValue(temp, dataHolder, key);
+        }
+        if (dataHolder.supports(FlagHelper.FLAGMAP)) {
+            addValue(temp, dataHolder, FlagHelper.FLAGMAP);
         }
         return temp;
     }
 
+    private static void addValue(MapTag map, DataHolder dataHolder, Key key) {
+        if (dataHolder.getOrNull(key) == null) {
+            // Nope nope nope!
+            return;
+        }
+        AbstractTagObject ato = readValue(dataHolder, key, (s) -> {
+            Debug.error("Failed to read key '" + key.getId() + "': " + s);
+        });
+        if (ato != null && !(ato instanceof NullTag)) {
+            map.getInternal().put(key.getId(), ato);
+        }
+    }
+
+    /**
+     * A pair of conversions for a single key, compiled from its element type the first time the key is used.
+     */
+    public static class KeyConverter {
+
+        public BiFunction<Action<String>, AbstractTagObject, Object> toValue;
+
+        public BiFunction<DataHolder, Action<String>, AbstractTagObject> toTag;
+    }
+
+    public static KeyConverter getConverter(Key key) {
+        return converters.computeIfAbsent(key, (k) -> {
+            KeyConverter converter = new KeyConverter();
+            converter.toValue = compileToValue(key.getElementToken());
+            converter.toTag = compileToTag(key);
+            return converter;
+        });
+    }
+
     public static Object convertObjectUsing(Action<String> error, TypeToken type, AbstractTagObject value) {
-        if (List.class.isAssignableFrom(type.getRawType())) {
-            TypeToken st = type.resolveType(List.class.getTypeParameters()[0]);
-            ArrayList toRet = new ArrayList();
-            for (AbstractTagObject obj : ListTag.getFor(error, value).getInternal()) {
-                toRet.add(convertObjectUsing(error, st, obj));
-            }
-            return toRet;
+        return compileToValue(type).apply(error, value);
+    }
+
+    private static BiFunction<Action<String>, AbstractTagObject, Object> compileToValue(TypeToken type) {
+        Class clazz = type.getRawType();
+        if (List.class.isAssignableFrom(clazz)) {
+            BiFunction<Action<String>, AbstractTagObject, Object> sub = compileToValue(type.resolveType(List.class.getTypeParameters()[0]));
+            return (error, value) -> {
+                ArrayList toRet = new ArrayList();
+                for (AbstractTagObject obj : ListTag.getFor(error, value).getInternal()) {
+                    toRet.add(sub.apply(error, obj));
+                }
+                return toRet;
+            };
         }
         else if (type.isSubtypeOf(Boolean.class)) {
-            return BooleanTag.getFor(error, value).getInternal();
+            return (error, value) -> BooleanTag.getFor(error, value).getInternal();
         }
         else if (type.isSubtypeOf(CatalogType.class)) {
-            String val = value.toString();
-            Optional optCatalogType = Sponge.getRegistry().getType(type.getRawType(), val);
-            if (!optCatalogType.isPresent()) {
-                error.run("Invalid value '" + val + "' requested for enumeration '" + type.getRawType().getCanonicalName() + "'!");
-                return null;
-            }
-            return optCatalogType.get();
+            return (error, value) -> {
+                String val = value.toString();
+                Optional optCatalogType = Sponge.getRegistry().getType(clazz, val);
+                if (!optCatalogType.isPresent()) {
+                    error.run("Invalid value '" + val + "' requested for enumeration '" + clazz.getCanonicalName() + "'!");
+                    return null;
+                }
+                return optCatalogType.get();
+            };
         }
         else if (type.isSubtypeOf(Double.class)) {
-            return NumberTag.getFor(error, value).getInternal();
+            return (error, value) -> NumberTag.getFor(error, value).getInternal();
         }
         else if (type.isSubtypeOf(Enum.class)) {
-            return Enum.valueOf(type.getRawType(), value.toString().toUpperCase());
+            return (error, value) -> Enum.valueOf(clazz, value.toString().toUpperCase());
         }
         else if (type.isSubtypeOf(Integer.class)) {
-            return (int) IntegerTag.getFor(error, value).getInternal();
+            return (error, value) -> (int) IntegerTag.getFor(error, value).getInternal();
         }
         else if (type.isSubtypeOf(Vector3d.class)) {
-            return LocationTag.getFor(error, value).getInternal().toVector3d();
+            return (error, value) -> LocationTag.getFor(error, value).getInternal().toVector3d();
         }
         else if (type.isSubtypeOf(Text.class)) {
-            if (value instanceof FormattedTextTag) {
-                return ((FormattedTextTag) value).getInternal();
-            }
-            else {
-                return Denizen2Sponge.parseColor(value.toString());
-            }
+            return (error, value) -> {
+                if (value instanceof FormattedTextTag) {
+                    return ((FormattedTextTag) value).getInternal();
+                }
+                else {
+                    return Denizen2Sponge.parseColor(value.toString());
+                }
+            };
         }
         else if (type.isSubtypeOf(UUID.class)) {
-            return UUID.fromString(value.toString());
+            return (error, value) -> UUID.fromString(value.toString());
         }
         else if (type.isSubtypeOf(FlagMap.class)) {
-            return new FlagMap(MapTag.getFor(error, value));
+            return (error, value) -> new FlagMap(FlagTable.fromValueMap(MapTag.getFor(error, value)));
         }
         else {
-            error.run("The value type '" + type.getRawType().getCanonicalName() + "' is not supported yet, cannot apply!");
-            return null;
+            return (error, value) -> {
+                error.run("The value type '" + clazz.getCanonicalName() + "' is not supported yet, cannot apply!");
+                return null;
+            };
         }
     }
 
@@ -160,7 +269,7 @@ public class DataKeys {
             return new TextTag(input.toString());
         }
         if (input instanceof FlagMap) {
-            return new MapTag(((FlagMap) input).flags.getInternal());
+            return ((FlagMap) input).flags.toValueMap();
         }
         error.run("The value type '" + input.getClass().getName() + "' is not supported yet, cannot taggify!");
         return NullTag.NULL;
@@ -179,39 +288,55 @@ public class DataKeys {
             error.run("This data holder does not support the key '" + key.getId() + "'!");
             return NullTag.NULL;
         }
+        return readValue(dataHolder, key, error);
+    }
+
+    private static AbstractTagObject readValue(DataHolder dataHolder, Key key, Action<String> error) {
+        return getConverter(key).toTag.apply(dataHolder, error);
+    }
+
+    private static BiFunction<DataHolder, Action<String>, AbstractTagObject> compileToTag(Key key) {
+        Class clazz = key.getElementToken().getRawType();
         if (List.class.isAssignableFrom(clazz)) {
-            return taggifyObject(error, dataHolder.getOrElse(key, EMPTY_LIST));
+            return (dataHolder, error) -> taggifyObject(error, dataHolder.getOrElse(key, EMPTY_LIST));
         }
         if (Boolean.class.isAssignableFrom(clazz)) {
-            return BooleanTag.getForBoolean(dataHolder.getOrElse((Key<BaseValue<Boolean>>) key, false));
+            return (dataHolder, error) -> BooleanTag.getForBoolean(dataHolder.getOrElse((Key<BaseValue<Boolean>>) key, false));
         }
         else if (CatalogType.class.isAssignableFrom(clazz)) {
-            return new TextTag(dataHolder.getValue((Key<BaseValue<CatalogType>>) key).orElseThrow(() -> new ErrorInducedException("Value not present!")).get().getId());
+            return (dataHolder, error) -> new TextTag(dataHolder.getValue((Key<BaseValue<CatalogType>>) key).orElseThrow(() -> new ErrorInducedException("Value not present!")).get().getId());
         }
         else if (Double.class.isAssignableFrom(clazz)) {
-            return new NumberTag(dataHolder.getOrElse((Key<BaseValue<Double>>) key, 0.0));
+            return (dataHolder, error) -> new NumberTag(dataHolder.getOrElse((Key<BaseValue<Double>>) key, 0.0));
         }
         else if (Enum.class.isAssignableFrom(clazz)) {
-            return new TextTag(dataHolder.getValue((Key<BaseValue<Enum>>) key).orElseThrow(() -> new ErrorInducedException("Empty enum value!")).get().name());
+            return (dataHolder, error) -> new TextTag(dataHolder.getValue((Key<BaseValue<Enum>>) key).orElseThrow(() -> new ErrorInducedException("Empty enum value!")).get().name());
         }
         else if (Integer.class.isAssignableFrom(clazz)) {
-            return new IntegerTag(dataHolder.getOrElse((Key<BaseValue<Integer>>) key, 0));
+            return (dataHolder, error) -> new IntegerTag(dataHolder.getOrElse((Key<BaseValue<Integer>>) key, 0));
         }
         else if (Vector3d.class.isAssignableFrom(clazz)) {
-            return new LocationTag(dataHolder.getOrElse((Key<BaseValue<Vector3d>>) key, new Vector3d(0, 0, 0)));
+            return (dataHolder, error) -> new LocationTag(dataHolder.getOrElse((Key<BaseValue<Vector3d>>) key, new Vector3d(0, 0, 0)));
         }
         else if (Text.class.isAssignableFrom(clazz)) {
-            return new FormattedTextTag(dataHolder.getOrElse((Key<BaseValue<Text>>) key, Text.EMPTY));
+            return (dataHolder, error) -> new FormattedTextTag(dataHolder.getOrElse((Key<BaseValue<Text>>) key, Text.EMPTY));
         }
         else if (UUID.class.isAssignableFrom(clazz)) {
-            return new TextTag(dataHolder.getValue((Key<BaseValue<UUID>>) key).orElseThrow(() -> new ErrorInducedException("Empty UUID value!")).get().toString());
+            return (dataHolder, error) -> new TextTag(dataHolder.getValue((Key<BaseValue<UUID>>) key).orElseThrow(() -> new ErrorInducedException("Empty UUID value!")).get().toString());
         }
         else if (FlagMap.class.isAssignableFrom(clazz)) {
-            return new MapTag(dataHolder.getOrElse((Key<BaseValue<FlagMap>>) key, new FlagMap(new MapTag())).flags.getInternal());
+            return (dataHolder, error) -> {
+                if (dataHolder instanceof Entity) {
+                    return FlagCache.getFlags((Entity) dataHolder).toValueMap();
+                }
+                return dataHolder.getOrElse((Key<BaseValue<FlagMap>>) key, new FlagMap(new FlagTable())).flags.toValueMap();
+            };
         }
         else {
-            error.run("The value type '" + clazz.getName() + "' is not supported yet, cannot get its value!");
-            return NullTag.NULL;
+            return (dataHolder, error) -> {
+                error.run("The value type '" + clazz.getName() + "' is not supported yet, cannot get its value!");
+                return NullTag.NULL;
+            };
         }
     }
 
@@ -220,16 +345,20 @@ public class DataKeys {
             error.run("The given key is null - an invalid key name may have been given.");
             return;
         }
+        if (entity instanceof Entity && key == FlagHelper.FLAGMAP) {
+            // The whole flag map is being replaced, so any unwritten flag changes are outdated
+            FlagCache.discard((Entity) entity);
+        }
         if (!entity.supports(key)) {
             if (key.getElementToken().isSubtypeOf(FlagMap.class)) {
-                entity.offer(new FlagMapDataImpl(new FlagMap(new MapTag())));
+                entity.offer(new FlagMapDataImpl(new FlagMap(new FlagTable())));
             }
             else {
                 error.run("This data holder does not support the key '" + key.getId() + "'!");
                 return;
             }
         }
-        Object offerMe = convertObjectUsing(error, key.getElementToken(), value);
+        Object offerMe = getConverter(key).toValue.apply(error, value);
         if (offerMe == null) {
             error.run("Failed to apply key with null value!");
             return;
@@ -243,17 +372,16 @@ public class DataKeys {
     }
 
     public static ImmutableDataHolder with(ImmutableDataHolder entity, Key key, AbstractTagObject value, Action<String> error) {
-        Class clazz = key.getElementToken().getRawType();
         if (!entity.supports(key)) {
             if (key.getElementToken().isSubtypeOf(FlagMap.class)) {
-                entity = (ImmutableDataHolder) entity.with(new FlagMapDataImpl(new FlagMap(new MapTag()))).get();
+                entity = (ImmutableDataHolder) entity.with(new FlagMapDataImpl(new FlagMap(new FlagTable()))).get();
             }
             else {
                 error.run("This data holder does not support the key '" + key.getId() + "'!");
                 return null;
             }
         }
-        Object offerMe = convertObjectUsing(error, key.getElementToken(), value);
+        Object offerMe = getConverter(key).toValue.apply(error, value);
         if (offerMe == null) {
             error.run("Failed to apply key with null value!");
             return null;
@@ -0,0 +1,179 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.DestructEntityEvent;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+import org.spongepowered.api.event.entity.living.humanoid.player.RespawnPlayerEvent;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.world.LoadWorldEvent;
+import org.spongepowered.api.event.world.UnloadWorldEvent;
+import org.spongepowered.api.event.world.chunk.LoadChunkEvent;
+import org.spongepowered.api.event.world.chunk.UnloadChunkEvent;
+import org.spongepowered.api.world.World;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks all loaded entities by unique ID, so they can be found without searching every world.
+ */
+public class EntityIndex {
+
+    private static final Map<UUID, WeakReference<Entity>> entities = new ConcurrentHashMap<>();
+
+    // IDs that were searched for in all worlds and not found this tick, so stale IDs only cost one search per tick
+    private static final Set<UUID> misses = ConcurrentHashMap.newKeySet();
+
+    private static void add(Entity entity) {
+        entities.put(entity.getUniqueId(), new WeakReference<>(entity));
+        if (!misses.isEmpty()) {
+            misses.remove(entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Forgets which IDs were not found. Called at the start of each tick.
+     */
+    public static void tick() {
+        if (!misses.isEmpty()) {
+            misses.clear();
+        }
+    }
+
+    private static void remove(Entity entity) {
+        WeakReference<Entity> ref = entities.get(entity.getUniqueId());
+        if (ref != null && ref.get() == entity) {
+            entities.remove(entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Gets a loaded entity by unique ID, if the index knows of it.
+     */
+    public static Entity getIndexed(UUID id) {
+        WeakReference<Entity> ref = entities.get(id);
+        if (ref == null) {
+            return null;
+        }
+        Entity entity = ref.get();
+        if (entity == null || entity.isRemoved()) {
+            entities.remove(id, ref);
+            return null;
+        }
+        return entity;
+    }
+
+    /**
+     * Gets a loaded entity by unique ID. Falls back to searching all worlds if the entity is not indexed,
+     * at most once per tick for each ID.
+     */
+    public static Optional<Entity> getEntity(UUID id) {
+        Entity entity = getIndexed(id);
+        if (entity != null) {
+            return Optional.of(entity);
+        }
+        if (misses.contains(id)) {
+            return Optional.empty();
+        }
+        for (World world : Sponge.getServer().getWorlds()) {
+            Optional<Entity> e = world.getEntity(id);
+            if (e.isPresent()) {
+                add(e.get());
+                return e;
+            }
+        }
+        misses.add(id);
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether the entity is currently loaded, based only on the index.
+     */
+    public static boolean isLoaded(Entity entity) {
+        return getIndexed(entity.getUniqueId()) == entity;
+    }
+
+    public static void indexAll() {
+        for (World world : Sponge.getServer().getWorlds()) {
+            for (Entity entity : world.getEntities()) {
+                add(entity);
+            }
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onSpawn(SpawnEntityEvent evt) {
+        if (evt.isCancelled()) {
+            return;
+        }
+        for (Entity entity : evt.getEntities()) {
+            add(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onDestruct(DestructEntityEvent evt) {
+        Entity entity = evt.getTargetEntity();
+        // Players stay loaded through death, and are replaced on respawn
+        if (!(entity instanceof Player)) {
+            remove(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onRespawn(RespawnPlayerEvent evt) {
+        add(evt.getTargetEntity());
+    }
+
+    @Listener(order = Order.POST)
+    public void onJoin(ClientConnectionEvent.Join evt, @Root Player player) {
+        add(player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onDisconnect(ClientConnectionEvent.Disconnect evt, @Root Player player) {
+        remove(player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onChunkLoad(LoadChunkEvent evt) {
+        for (Entity entity : evt.getTargetChunk().getEntities()) {
+            add(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onChunkUnload(UnloadChunkEvent evt) {
+        for (Entity entity : evt.getTargetChunk().getEntities()) {
+            remove(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onWorldLoad(LoadWorldEvent evt) {
+        for (Entity entity : evt.getTargetWorld().getEntities()) {
+            add(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onWorldUnload(UnloadWorldEvent evt) {
+        if (evt.isCancelled()) {
+            return;
+        }
+        UUID world = evt.getTargetWorld().getUniqueId();
+        entities.values().removeIf((ref) -> {
+            Entity entity = ref.get();
+            return entity == null || entity.getWorld().getUniqueId().equals(world);
+        });
+    }
+}
@@ -0,0 +1,208 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import com.denizenscript.denizen2core.tags.objects.NumberTag;
+import com.denizenscript.denizen2core.utilities.Action;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.world.World;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Parses location and cuboid text in a single pass, and remembers recently parsed text,
+ * so that saved locations (in flags, switches, etc.) are not split and re-parsed every time they are read.
+ */
+public class LocationParser {
+
+    public static final int CACHE_SIZE = 1024;
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * An immutable parsed value. Coordinates are in the same order as the text.
+     */
+    public static class Parsed {
+
+        private final double[] coordinates;
+
+        public final String worldName;
+
+        private WeakReference<World> world = null;
+
+        private Parsed(double[] coordinates, String worldName) {
+            this.coordinates = coordinates;
+            this.worldName = worldName;
+        }
+
+        public double get(int index) {
+            return coordinates[index];
+        }
+
+        /**
+         * Gets the world named by the text, or null if there was none. Errors if the world is not loaded.
+         */
+        public World getWorld(Action<String> error) {
+            if (worldName == null) {
+                return null;
+            }
+            WeakReference<World> ref = world;
+            World w = ref == null ? null : ref.get();
+            if (w != null && w.isLoaded()) {
+                return w;
+            }
+            Optional<World> optWorld = Sponge.getServer().getWorld(worldName);
+            if (!optWorld.isPresent()) {
+                error.run("Invalid WorldTag input!");
+                return null;
+            }
+            world = new WeakReference<>(optWorld.get());
+            return optWorld.get();
+        }
+    }
+
+    private static class Cache extends LinkedHashMap<String, Parsed> {
+
+        private Cache() {
+            super(CACHE_SIZE * 2, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Parsed> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+
+    private static final Cache locations = new Cache();
+
+    private static final Cache cuboids = new Cache();
+
+    /**
+     * Parses "x,y,z" or "x,y,z,world".
+     */
+    public static Parsed parseLocation(Action<String> error, String text) {
+        Parsed parsed;
+        synchronized (locations) {
+            parsed = locations.get(text);
+        }
+        if (parsed != null) {
+            return parsed;
+        }
+        double[] coords = new double[3];
+        int pos = 0;
+        String worldName = null;
+        for (int i = 0; i < 3; i++) {
+            int end = text.indexOf(',', pos);
+            if (end == -1) {
+                if (i != 2) {
+                    error.run("Invalid LocationTag input!");
+                    return null;
+                }
+                end = text.length();
+            }
+            else if (i == 2) {
+                worldName = text.substring(end + 1);
+            }
+            coords[i] = parseDouble(error, text, pos, end);
+            pos = end + 1;
+        }
+        parsed = new Parsed(coords, worldName);
+        synchronized (locations) {
+            locations.put(text, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses "x,y,z/x,y,z/world".
+     */
+    public static Parsed parseCuboid(Action<String> error, String text) {
+        Parsed parsed;
+        synchronized (cuboids) {
+            parsed = cuboids.get(text);
+        }
+        if (parsed != null) {
+            return parsed;
+        }
+        double[] coords = new double[6];
+        int pos = 0;
+        for (int i = 0; i < 6; i++) {
+            char separator = i == 2 || i == 5 ? '/' : ',';
+            int end = indexOrFail(text, separator, pos);
+            if (end == -1) {
+                error.run("Invalid Cuboid tag specifications!");
+                return null;
+            }
+            coords[i] = parseDouble(error, text, pos, end);
+            pos = end + 1;
+        }
+        parsed = new Parsed(coords, text.substring(pos));
+        synchronized (cuboids) {
+            cuboids.put(text, parsed);
+        }
+        return parsed;
+    }
+
+    private static int indexOrFail(String text, char c, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == c) {
+                return i;
+            }
+            if (ch == '/' || ch == ',') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a plain decimal number directly from the text, without building a substring.
+     * Anything that can't be parsed exactly this way (exponents, very long numbers, ...) goes through NumberTag as normal.
+     */
+    public static double parseDouble(Action<String> error, String text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean hasDigit = false;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            }
+            else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            }
+            else {
+                break;
+            }
+        }
+        // Exact only while the mantissa and the power of ten are both exactly representable
+        if (i != end || !hasDigit || digits > 15 || fractionDigits >= POWERS_OF_TEN.length) {
+            return NumberTag.getFor(error, text.substring(start, end)).getInternal();
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,145 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import com.denizenscript.denizen2core.tags.objects.ListTag;
+import com.denizenscript.denizen2core.utilities.CoreUtilities;
+import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.living.humanoid.player.RespawnPlayerEvent;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+import java.util.*;
+
+/**
+ * Tracks online players by lowercased name, for fast name matching.
+ * Players are held by UUID and resolved when matched, as a player is given a new entity when they respawn or change worlds.
+ */
+public class PlayerIndex {
+
+    private static class Node {
+
+        final Map<Character, Node> children = new HashMap<>();
+
+        // All players whose name starts with this node's prefix, in join order
+        final List<UUID> players = new ArrayList<>();
+    }
+
+    private static final Map<String, UUID> byName = new HashMap<>();
+
+    private static final LinkedHashMap<UUID, String> names = new LinkedHashMap<>();
+
+    private static final Node root = new Node();
+
+    private static List<PlayerTag> onlinePlayers = null;
+
+    public static synchronized void add(Player player) {
+        UUID id = player.getUniqueId();
+        if (names.containsKey(id)) {
+            return;
+        }
+        String name = CoreUtilities.toLowerCase(player.getName());
+        names.put(id, name);
+        byName.put(name, id);
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.children.computeIfAbsent(name.charAt(i), (c) -> new Node());
+            node.players.add(id);
+        }
+        onlinePlayers = null;
+    }
+
+    public static synchronized void remove(Player player) {
+        UUID id = player.getUniqueId();
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        byName.remove(name, id);
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            Node child = node.children.get(name.charAt(i));
+            child.players.remove(id);
+            if (child.players.isEmpty()) {
+                node.children.remove(name.charAt(i));
+                break;
+            }
+            node = child;
+        }
+        onlinePlayers = null;
+    }
+
+    public static synchronized void indexAll() {
+        for (Player player : Sponge.getServer().getOnlinePlayers()) {
+            add(player);
+        }
+    }
+
+    /**
+     * Finds the online player that best matches the lowercased input: an exact name match,
+     * else the earliest joined player whose name starts with the input, else one whose name contains it.
+     */
+    public static synchronized Player match(String input) {
+        UUID exact = byName.get(input);
+        if (exact != null) {
+            return getPlayer(exact);
+        }
+        Node node = root;
+        for (int i = 0; i < input.length() && node != null; i++) {
+            node = node.children.get(input.charAt(i));
+        }
+        if (node != null && !node.players.isEmpty()) {
+            return getPlayer(node.players.get(0));
+        }
+        for (Map.Entry<UUID, String> entry : names.entrySet()) {
+            if (entry.getValue().contains(input)) {
+                return getPlayer(entry.getKey());
+            }
+        }
+        return null;
+    }
+
+    private static Player getPlayer(UUID id) {
+        return Sponge.getServer().getPlayer(id).orElse(null);
+    }
+
+    /**
+     * Gets a new list of all online players. The player tags are cached until the online players change or respawn.
+     */
+    public static synchronized ListTag getOnlinePlayers() {
+        if (onlinePlayers == null) {
+            List<PlayerTag> list = new ArrayList<>();
+            for (UUID id : names.keySet()) {
+                Player player = getPlayer(id);
+                if (player != null) {
+                    list.add(new PlayerTag(player));
+                }
+            }
+            onlinePlayers = list;
+        }
+        ListTag res = new ListTag();
+        res.getInternal().addAll(onlinePlayers);
+        return res;
+    }
+
+    private static synchronized void invalidate() {
+        onlinePlayers = null;
+    }
+
+    @Listener(order = Order.FIRST)
+    public void onJoin(ClientConnectionEvent.Join evt, @Root Player player) {
+        add(player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onDisconnect(ClientConnectionEvent.Disconnect evt, @Root Player player) {
+        remove(player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onRespawn(RespawnPlayerEvent evt) {
+        invalidate();
+    }
+}
@@ -0,0 +1,340 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import com.denizenscript.denizen2core.Denizen2Core;
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.MapTag;
+import com.denizenscript.denizen2core.utilities.CoreUtilities;
+import com.denizenscript.denizen2core.utilities.debugging.Debug;
+import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.tags.objects.CuboidTag;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Tracks named, persistent regions as well as the cuboids used by area event switches,
+ * in a per-world chunk grid, so that locations only need to be tested against nearby areas.
+ */
+public class Regions {
+
+    /**
+     * Cuboids spanning more chunks than this are tested for every location in their world instead of being gridded.
+     */
+    public static final int MAX_GRID_CHUNKS = 4096;
+
+    private static final Map<String, UtilCuboid> named = new HashMap<>();
+
+    private static final Map<UtilCuboid, String> names = new IdentityHashMap<>();
+
+    private static final Map<Object, Collection<UtilCuboid>> contributed = new HashMap<>();
+
+    private static final Map<UUID, WorldGrid> grids = new HashMap<>();
+
+    private static final Map<Entity, Membership> memberships = new WeakHashMap<>();
+
+    private static int version = 0;
+
+    private static boolean dirty = true;
+
+    private static MoveEntityEvent lastEvent = null;
+
+    private static Transition lastTransition = null;
+
+    private static int lastVersion = 0;
+
+    public static final Transition NO_TRANSITION = new Transition(Collections.emptyList(), Collections.emptyList());
+
+    public static class Transition {
+
+        public final List<UtilCuboid> entered;
+
+        public final List<UtilCuboid> left;
+
+        public Transition(List<UtilCuboid> entered, List<UtilCuboid> left) {
+            this.entered = entered;
+            this.left = left;
+        }
+    }
+
+    private static class WorldGrid {
+
+        final Map<Long, List<UtilCuboid>> cells = new HashMap<>();
+
+        final List<UtilCuboid> large = new ArrayList<>();
+    }
+
+    private static class Membership {
+
+        int version;
+
+        double x, y, z;
+
+        UUID world;
+
+        List<UtilCuboid> regions;
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return (((long) cx) << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    public static UtilCuboid getNamed(String name) {
+        return named.get(CoreUtilities.toLowerCase(name));
+    }
+
+    public static String getName(UtilCuboid cuboid) {
+        return names.get(cuboid);
+    }
+
+    public static Set<String> getNames() {
+        return Collections.unmodifiableSet(named.keySet());
+    }
+
+    public static void define(String name, UtilCuboid cuboid) {
+        name = CoreUtilities.toLowerCase(name);
+        UtilCuboid old = named.put(name, cuboid);
+        if (old != null) {
+            names.remove(old);
+        }
+        names.put(cuboid, name);
+        dirty = true;
+    }
+
+    public static boolean remove(String name) {
+        UtilCuboid old = named.remove(CoreUtilities.toLowerCase(name));
+        if (old == null) {
+            return false;
+        }
+        names.remove(old);
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Sets the unnamed cuboids an owner (such as an area event) needs tracked. Replaces any previously contributed set.
+     */
+    public static void setContributed(Object owner, Collection<UtilCuboid> cuboids) {
+        if (contributed.put(owner, cuboids) != cuboids) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forgets the last move event's transition, so the event and the entity it holds are not kept beyond the tick.
+     * Called at the start of each tick.
+     */
+    public static void tick() {
+        lastEvent = null;
+        lastTransition = null;
+    }
+
+    /**
+     * Forgets all contributed cuboids. Called whenever scripts are reloaded.
+     */
+    public static void clearContributed() {
+        contributed.clear();
+        dirty = true;
+    }
+
+    private static void rebuild() {
+        grids.clear();
+        for (UtilCuboid cuboid : named.values()) {
+            addToGrid(cuboid);
+        }
+        Set<UtilCuboid> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Collection<UtilCuboid> cuboids : contributed.values()) {
+            for (UtilCuboid cuboid : cuboids) {
+                if (seen.add(cuboid)) {
+                    addToGrid(cuboid);
+                }
+            }
+        }
+        version++;
+        dirty = false;
+    }
+
+    private static void addToGrid(UtilCuboid cuboid) {
+        WorldGrid grid = grids.computeIfAbsent(cuboid.min.world.getUniqueId(), (k) -> new WorldGrid());
+        int minX = ((int) Math.floor(cuboid.min.x)) >> 4;
+        int minZ = ((int) Math.floor(cuboid.min.z)) >> 4;
+        int maxX = ((int) Math.floor(cuboid.max.x)) >> 4;
+        int maxZ = ((int) Math.floor(cuboid.max.z)) >> 4;
+        if ((long) (maxX - minX + 1) * (long) (maxZ - minZ + 1) > MAX_GRID_CHUNKS) {
+            grid.large.add(cuboid);
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                grid.cells.computeIfAbsent(chunkKey(x, z), (k) -> new ArrayList<>()).add(cuboid);
+            }
+        }
+    }
+
+    private static boolean contains(UtilCuboid cuboid, double x, double y, double z) {
+        return x >= cuboid.min.x && y >= cuboid.min.y && z >= cuboid.min.z
+                && x <= cuboid.max.x && y <= cuboid.max.y && z <= cuboid.max.z;
+    }
+
+    /**
+     * Gets all tracked cuboids (named or contributed) that contain the location.
+     */
+    public static List<UtilCuboid> getAt(World world, double x, double y, double z) {
+        if (dirty) {
+            rebuild();
+        }
+        WorldGrid grid = grids.get(world.getUniqueId());
+        if (grid == null) {
+            return Collections.emptyList();
+        }
+        List<UtilCuboid> res = null;
+        List<UtilCuboid> cell = grid.cells.get(chunkKey(((int) Math.floor(x)) >> 4, ((int) Math.floor(z)) >> 4));
+        if (cell != null) {
+            for (UtilCuboid cuboid : cell) {
+                if (contains(cuboid, x, y, z)) {
+                    if (res == null) {
+                        res = new ArrayList<>();
+                    }
+                    res.add(cuboid);
+                }
+            }
+        }
+        for (UtilCuboid cuboid : grid.large) {
+            if (contains(cuboid, x, y, z)) {
+                if (res == null) {
+                    res = new ArrayList<>();
+                }
+                res.add(cuboid);
+            }
+        }
+        return res == null ? Collections.emptyList() : res;
+    }
+
+    /**
+     * Gets the names of all named regions that contain the location.
+     */
+    public static List<String> getNamesAt(UtilLocation location) {
+        List<String> res = new ArrayList<>();
+        for (UtilCuboid cuboid : getAt(location.world, location.x, location.y, location.z)) {
+            String name = names.get(cuboid);
+            if (name != null) {
+                res.add(name);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets the cuboids an entity entered and left in a move event.
+     * Results are shared between all listeners of the same event, unless the tracked cuboids changed in between.
+     */
+    public static Transition getTransition(MoveEntityEvent evt) {
+        // A listener may contribute new cuboids after an earlier listener already computed this event's transition
+        if (evt == lastEvent && !dirty && lastVersion == version) {
+            return lastTransition;
+        }
+        if (dirty) {
+            rebuild();
+        }
+        Entity entity = evt.getTargetEntity();
+        Location<World> from = evt.getFromTransform().getLocation();
+        Location<World> to = evt.getToTransform().getLocation();
+        Membership member = memberships.get(entity);
+        List<UtilCuboid> fromRegions;
+        if (member != null && member.version == version && member.x == from.getX() && member.y == from.getY()
+                && member.z == from.getZ() && member.world.equals(from.getExtent().getUniqueId())) {
+            fromRegions = member.regions;
+        }
+        else {
+            fromRegions = getAt(from.getExtent(), from.getX(), from.getY(), from.getZ());
+        }
+        List<UtilCuboid> toRegions = getAt(to.getExtent(), to.getX(), to.getY(), to.getZ());
+        Transition transition;
+        if (fromRegions.isEmpty() && toRegions.isEmpty()) {
+            transition = NO_TRANSITION;
+        }
+        else {
+            transition = new Transition(difference(toRegions, fromRegions), difference(fromRegions, toRegions));
+        }
+        if (toRegions.isEmpty()) {
+            memberships.remove(entity);
+        }
+        else {
+            if (member == null) {
+                member = new Membership();
+                memberships.put(entity, member);
+            }
+            member.version = version;
+            member.x = to.getX();
+            member.y = to.getY();
+            member.z = to.getZ();
+            member.world = to.getExtent().getUniqueId();
+            member.regions = toRegions;
+        }
+        lastEvent = evt;
+        lastTransition = transition;
+        lastVersion = version;
+        return transition;
+    }
+
+    private static List<UtilCuboid> difference(List<UtilCuboid> a, List<UtilCuboid> b) {
+        if (a.isEmpty()) {
+            return a;
+        }
+        List<UtilCuboid> res = null;
+        for (UtilCuboid cuboid : a) {
+            if (!b.contains(cuboid)) {
+                if (res == null) {
+                    res = new ArrayList<>();
+                }
+                res.add(cuboid);
+            }
+        }
+        return res == null ? Collections.emptyList() : res;
+    }
+
+    public static File getRegionsFile() {
+        return new File(Denizen2Sponge.instance.getMainDirectory(), "./regions.yml");
+    }
+
+    public static void load() {
+        try {
+            named.clear();
+            names.clear();
+            dirty = true;
+            if (!getRegionsFile().exists()) {
+                return;
+            }
+            InputStream is = new FileInputStream(getRegionsFile());
+            String str = CoreUtilities.streamToString(is);
+            is.close();
+            MapTag map = (MapTag) Denizen2Core.loadFromSaved(Debug::error, str);
+            for (Map.Entry<String, AbstractTagObject> entry : map.getInternal().entrySet()) {
+                try {
+                    CuboidTag cuboid = CuboidTag.getFor(Debug::error, entry.getValue());
+                    if (cuboid != null) {
+                        define(entry.getKey(), cuboid.getInternal());
+                    }
+                }
+                catch (Exception e) {
+                    Debug.error("Failed to load region '" + entry.getKey() + "'!");
+                    Debug.exception(e);
+                }
+            }
+        }
+        catch (Exception e) {
+            Debug.exception(e);
+        }
+    }
+
+    public static void save() {
+        MapTag map = new MapTag();
+        for (Map.Entry<String, UtilCuboid> entry : named.entrySet()) {
+            map.getInternal().put(entry.getKey(), new CuboidTag(entry.getValue().min, entry.getValue().max));
+        }
+        AsyncFileWriter.write(getRegionsFile(), map.savable());
+    }
+}
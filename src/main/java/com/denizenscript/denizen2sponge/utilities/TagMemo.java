@@ -0,0 +1,165 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.TagData;
+import com.denizenscript.denizen2core.tags.objects.NullTag;
+import com.denizenscript.denizen2core.utilities.Function2;
+import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
+import com.denizenscript.denizen2sponge.tags.objects.LocationTag;
+import com.denizenscript.denizen2sponge.tags.objects.PlayerTag;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.data.Transaction;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.entity.DamageEntityEvent;
+import org.spongepowered.api.event.entity.HealEntityEvent;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Remembers the results of tags that can't change within a tick unless something acts on their object,
+ * so that scripts reading them many times per tick only go through the data API once.
+ * Memoized tags are opted in when their handler is registered, and results are forgotten at the start of every tick,
+ * whenever a game event or a command changes the object, and for any tag read off the main thread.
+ */
+public class TagMemo {
+
+    private static final Map<Object, Map<String, AbstractTagObject>> memo = new HashMap<>();
+
+    private static Thread mainThread = null;
+
+    /**
+     * Called at the start of each tick, on the main thread.
+     */
+    public static void tick() {
+        mainThread = Thread.currentThread();
+        if (!memo.isEmpty()) {
+            memo.clear();
+        }
+    }
+
+    public static void invalidate(UUID id) {
+        if (Thread.currentThread() == mainThread && !memo.isEmpty()) {
+            memo.remove(id);
+        }
+    }
+
+    public static void invalidate(Location<World> location) {
+        if (Thread.currentThread() == mainThread && !memo.isEmpty()) {
+            memo.remove(getBlockKey(location.getExtent(), location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        }
+    }
+
+    private static Location<World> getBlockKey(World world, int x, int y, int z) {
+        return new Location<>(world, x, y, z);
+    }
+
+    private static AbstractTagObject get(Object key, String name, TagData dat, AbstractTagObject obj, Function2<TagData, AbstractTagObject, AbstractTagObject> handler) {
+        Map<String, AbstractTagObject> results = memo.computeIfAbsent(key, (k) -> new HashMap<>());
+        AbstractTagObject result = results.get(name);
+        if (result == null) {
+            result = handler.apply(dat, obj);
+            // Failures are not remembered, so that they are still reported to later reads without a fallback
+            if (result != null && !(result instanceof NullTag)) {
+                results.put(name, result);
+            }
+        }
+        return result;
+    }
+
+    private static Function2<TagData, AbstractTagObject, AbstractTagObject> memoize(String name, Function<AbstractTagObject, Object> holder,
+                                                                                   Function2<TagData, AbstractTagObject, AbstractTagObject> handler) {
+        return (dat, obj) -> {
+            Object key = Thread.currentThread() == mainThread ? holder.apply(obj) : null;
+            return key == null ? handler.apply(dat, obj) : get(key, name, dat, obj, handler);
+        };
+    }
+
+    private static Function2<TagData, AbstractTagObject, AbstractTagObject> memoizeWithModifier(String name, Function<AbstractTagObject, Object> holder,
+                                                                                               Function3<TagData, AbstractTagObject, AbstractTagObject, AbstractTagObject> handler) {
+        return (dat, obj) -> {
+            AbstractTagObject modifier = dat.getNextModifier();
+            Object key = Thread.currentThread() == mainThread ? holder.apply(obj) : null;
+            if (key == null) {
+                return handler.apply(dat, obj, modifier);
+            }
+            return get(key, name + "[" + modifier + "]", dat, obj, (d, o) -> handler.apply(d, o, modifier));
+        };
+    }
+
+    private static Object getEntityKey(AbstractTagObject obj) {
+        return ((EntityTag) obj).getInternal().getUniqueId();
+    }
+
+    private static Object getPlayerKey(AbstractTagObject obj) {
+        return ((PlayerTag) obj).getInternal().getUniqueId();
+    }
+
+    private static Object getLocationKey(AbstractTagObject obj) {
+        UtilLocation loc = ((LocationTag) obj).getInternal();
+        if (loc.world == null) {
+            return null;
+        }
+        return getBlockKey(loc.world, (int) Math.floor(loc.x), (int) Math.floor(loc.y), (int) Math.floor(loc.z));
+    }
+
+    /**
+     * Marks an EntityTag handler as unchanging within a tick.
+     */
+    public static Function2<TagData, AbstractTagObject, AbstractTagObject> entity(String name, Function2<TagData, AbstractTagObject, AbstractTagObject> handler) {
+        return memoize(name, TagMemo::getEntityKey, handler);
+    }
+
+    /**
+     * Marks a PlayerTag handler as unchanging within a tick.
+     */
+    public static Function2<TagData, AbstractTagObject, AbstractTagObject> player(String name, Function2<TagData, AbstractTagObject, AbstractTagObject> handler) {
+        return memoize(name, TagMemo::getPlayerKey, handler);
+    }
+
+    /**
+     * Marks a PlayerTag handler that takes a modifier as unchanging within a tick, for each modifier.
+     */
+    public static Function2<TagData, AbstractTagObject, AbstractTagObject> player(String name, Function3<TagData, AbstractTagObject, AbstractTagObject, AbstractTagObject> handler) {
+        return memoizeWithModifier(name, TagMemo::getPlayerKey, handler);
+    }
+
+    /**
+     * Marks a LocationTag handler that only depends on the block at the location as unchanging within a tick.
+     */
+    public static Function2<TagData, AbstractTagObject, AbstractTagObject> block(String name, Function2<TagData, AbstractTagObject, AbstractTagObject> handler) {
+        return memoize(name, TagMemo::getLocationKey, handler);
+    }
+
+    @Listener(order = Order.POST)
+    public void onMove(MoveEntityEvent evt) {
+        invalidate(evt.getTargetEntity().getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onDamage(DamageEntityEvent evt) {
+        invalidate(evt.getTargetEntity().getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onHeal(HealEntityEvent evt) {
+        invalidate(evt.getTargetEntity().getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onBlockChange(ChangeBlockEvent evt) {
+        if (memo.isEmpty()) {
+            return;
+        }
+        for (Transaction<BlockSnapshot> transaction : evt.getTransactions()) {
+            transaction.getOriginal().getLocation().ifPresent(TagMemo::invalidate);
+        }
+    }
+}
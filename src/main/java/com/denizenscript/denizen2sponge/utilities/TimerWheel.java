@@ -0,0 +1,146 @@
+package com.denizenscript.denizen2sponge.utilities;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timer wheel: timers are filed into coarser slots the further away they are,
+ * and moved into finer slots as their time comes closer, so scheduling, cancelling and advancing are all cheap
+ * no matter how many timers are waiting.
+ * Time is measured in whole wheel ticks, of whatever length the user chooses.
+ */
+public class TimerWheel<T> {
+
+    private static final int BITS = 6;
+
+    private static final int SLOTS = 1 << BITS;
+
+    private static final int MASK = SLOTS - 1;
+
+    private static final int LEVELS = 5;
+
+    public static class Timer<T> {
+
+        public final T value;
+
+        public final long deadline;
+
+        private Timer<T> prev, next;
+
+        private Timer(T value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        public boolean isScheduled() {
+            return prev != null;
+        }
+    }
+
+    private final Timer<T>[][] slots;
+
+    private long currentTick;
+
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long startTick) {
+        currentTick = startTick;
+        slots = new Timer[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                // Each slot is a circular list, headed by an empty timer
+                Timer<T> head = new Timer<>(null, 0);
+                head.prev = head;
+                head.next = head;
+                slots[level][slot] = head;
+            }
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a value to come due at the given tick. Values for past ticks come due on the next advance.
+     */
+    public Timer<T> schedule(T value, long deadline) {
+        Timer<T> timer = new Timer<>(value, deadline);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    public void cancel(Timer<T> timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        long delta = timer.deadline - currentTick;
+        int level = 0;
+        long slotTick = Math.max(timer.deadline, currentTick + 1);
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        if (delta >= 1L << (BITS * LEVELS)) {
+            // Too far away to file exactly: park it in the furthest slot, to be filed again once that slot comes around
+            slotTick = currentTick + (1L << (BITS * LEVELS)) - 1;
+        }
+        Timer<T> head = slots[level][(int) (slotTick >>> (BITS * level)) & MASK];
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    /**
+     * Advances the wheel up to and including the given tick, passing each timer that comes due to the consumer.
+     */
+    public void advance(long toTick, Consumer<Timer<T>> due) {
+        while (currentTick < toTick) {
+            currentTick++;
+            // Move timers down from every coarser level whose slot starts at this tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    Timer<T> head = slots[level][(int) (currentTick >>> (BITS * level)) & MASK];
+                    Timer<T> timer = head.next;
+                    while (timer != head) {
+                        Timer<T> next = timer.next;
+                        unlink(timer);
+                        if (timer.deadline <= currentTick) {
+                            size--;
+                            due.accept(timer);
+                        }
+                        else {
+                            insert(timer);
+                        }
+                        timer = next;
+                    }
+                }
+            }
+            Timer<T> head = slots[0][(int) currentTick & MASK];
+            Timer<T> timer = head.next;
+            while (timer != head) {
+                Timer<T> next = timer.next;
+                unlink(timer);
+                size--;
+                due.accept(timer);
+                timer = next;
+            }
+        }
+    }
+}
@@ -1,19 +1,53 @@
 package com.denizenscript.denizen2sponge.utilities;
 
 import com.denizenscript.denizen2core.tags.objects.MapTag;
-import com.denizenscript.denizen2core.tags.objects.TimeTag;
 import com.denizenscript.denizen2core.utilities.Action;
+import com.denizenscript.denizen2core.utilities.CoreUtilities;
+import com.denizenscript.denizen2sponge.utilities.flags.FlagTable;
+import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.gamemode.GameModes;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Utilities {
 
+    private static final String[] DEFAULT_PREFIXES = new String[] { "minecraft:", "sponge:", "denizen2sponge:" };
+
+    private static final Map<Class, Map<String, Object>> catalogAliases = new ConcurrentHashMap<>();
+
+    private static final long NEGATIVE_ZERO = Double.doubleToRawLongBits(-0.0);
+
+    private static final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    /**
+     * Gets an empty builder for the current thread. Must not be held on to or used by nested formatting calls.
+     */
+    public static StringBuilder getBuilder() {
+        StringBuilder sb = builders.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    /**
+     * Appends a double in the same format as CoreUtilities.doubleToString, without building an intermediate string.
+     */
+    public static StringBuilder appendDouble(StringBuilder sb, double value) {
+        // Whole numbers below the scientific notation threshold, which covers all block-aligned coordinates
+        if (value == (long) value && value > -1e7 && value < 1e7 && Double.doubleToRawLongBits(value) != NEGATIVE_ZERO) {
+            return sb.append((long) value);
+        }
+        int length = sb.append(value).length();
+        if (sb.charAt(length - 1) == '0' && sb.charAt(length - 2) == '.') {
+            sb.setLength(length - 2);
+        }
+        return sb;
+    }
+
     public static double getHandReach(Entity entity) {
         if (entity instanceof Player) {
             return ((Player) entity).gameMode().get().equals(GameModes.CREATIVE) ? 5.0 : 4.0;
@@ -23,19 +57,19 @@ public class Utilities {
         }
     }
 
+    /**
+     * Checks a flag in a map of flags to entry maps, as built by FlagTable.toEntryMap.
+     *
+     * @deprecated flags are now held in a FlagTable: use FlagTable.isValid instead.
+     */
+    @Deprecated
     public static boolean flagIsValidAndNotExpired(Action<String> error, MapTag flags, String flagName) {
-        boolean b = false;
-        if (flags.getInternal().containsKey(flagName)) {
-            b = true;
-            MapTag subMap = MapTag.getFor(error, flags.getInternal().get(flagName));
-            if (subMap.getInternal().containsKey("duration")) {
-                TimeTag tt = TimeTag.getFor(error, subMap.getInternal().get("duration"));
-                if (tt.getInternal().isBefore(LocalDateTime.now(ZoneId.of("UTC")))) {
-                    b = false;
-                }
-            }
+        if (!flags.getInternal().containsKey(flagName)) {
+            return false;
         }
-        return b;
+        MapTag flag = new MapTag();
+        flag.getInternal().put(flagName, flags.getInternal().get(flagName));
+        return FlagTable.fromEntryMap(flag).isValid(flagName);
     }
 
     public static String getIdWithoutDefaultPrefix(String id) {
@@ -51,7 +85,52 @@ public class Utilities {
         return id;
     }
 
+    /**
+     * Drops all catalog alias tables, so they are rebuilt from the registry on next use.
+     * Called when catalog types are registered and whenever scripts are reloaded.
+     */
+    public static void clearCatalogAliases() {
+        catalogAliases.clear();
+    }
+
+    /**
+     * Gets a map of every lowercased full ID of the catalog class to its type, along with the unprefixed ID
+     * for types using a default prefix. Full IDs take priority, followed by the prefixes in order.
+     */
+    private static Map<String, Object> getCatalogAliases(Class clazz) {
+        return catalogAliases.computeIfAbsent(clazz, (c) -> {
+            Map<String, Object> res = new ConcurrentHashMap<>();
+            for (Object type : Sponge.getRegistry().getAllOf(clazz)) {
+                res.put(CoreUtilities.toLowerCase(((CatalogType) type).getId()), type);
+            }
+            for (String prefix : DEFAULT_PREFIXES) {
+                for (Object type : Sponge.getRegistry().getAllOf(clazz)) {
+                    String id = CoreUtilities.toLowerCase(((CatalogType) type).getId());
+                    if (id.startsWith(prefix)) {
+                        res.putIfAbsent(id.substring(prefix.length()), type);
+                    }
+                }
+            }
+            return res;
+        });
+    }
+
     public static Object getTypeWithDefaultPrefix(Class clazz, String name) {
+        Map<String, Object> aliases = getCatalogAliases(clazz);
+        String lowercased = CoreUtilities.toLowerCase(name);
+        Object type = aliases.get(lowercased);
+        if (type != null) {
+            return type;
+        }
+        type = getTypeFromRegistry(clazz, name);
+        if (type != null) {
+            // Registered since the alias table was built, so remember just this name rather than rebuilding the table
+            aliases.put(lowercased, type);
+        }
+        return type;
+    }
+
+    private static Object getTypeFromRegistry(Class clazz, String name) {
         Optional<?> opt = Sponge.getRegistry().getType(clazz, name);
         if (opt.isPresent()) {
             return opt.get();
@@ -0,0 +1,99 @@
+package com.denizenscript.denizen2sponge.utilities.flags;
+
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.game.state.GameStoppingServerEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.world.SaveWorldEvent;
+import org.spongepowered.api.event.world.chunk.UnloadChunkEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds entity flags that have been changed but not yet offered back to their entity,
+ * so that many flag changes to one entity within a tick only cost a single offer.
+ * Changed flags are written at the end of the tick, and before their chunk unloads, their world saves or their player leaves.
+ * All access must be from the main thread.
+ */
+public class FlagCache {
+
+    private static final Map<Entity, FlagTable> dirty = new LinkedHashMap<>();
+
+    /**
+     * Gets the current flags of an entity, including changes that have not been written yet. Must not be modified.
+     */
+    public static FlagTable getFlags(Entity entity) {
+        FlagTable flags = dirty.get(entity);
+        if (flags != null) {
+            return flags;
+        }
+        Optional<FlagMap> fm = entity.get(FlagHelper.FLAGMAP);
+        return fm.isPresent() ? fm.get().flags : new FlagTable();
+    }
+
+    /**
+     * Gets the flags of an entity to be changed. The entity will be written when the cache is next flushed.
+     */
+    public static FlagTable getModifiableFlags(Entity entity) {
+        FlagTable flags = dirty.get(entity);
+        if (flags == null) {
+            Optional<FlagMap> fm = entity.get(FlagHelper.FLAGMAP);
+            flags = fm.isPresent() ? fm.get().getModifiableFlags() : new FlagTable();
+            dirty.put(entity, flags);
+        }
+        return flags;
+    }
+
+    public static void flush(Entity entity) {
+        FlagTable flags = dirty.remove(entity);
+        if (flags != null) {
+            entity.offer(new FlagMapDataImpl(new FlagMap(flags)));
+        }
+    }
+
+    public static void discard(Entity entity) {
+        dirty.remove(entity);
+    }
+
+    public static void flushAll() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        // Offering can fire events that change flags again, which will be written on the next flush
+        Map<Entity, FlagTable> toWrite = new LinkedHashMap<>(dirty);
+        dirty.clear();
+        for (Map.Entry<Entity, FlagTable> entry : toWrite.entrySet()) {
+            entry.getKey().offer(new FlagMapDataImpl(new FlagMap(entry.getValue())));
+        }
+    }
+
+    @Listener(order = Order.PRE)
+    public void onChunkUnload(UnloadChunkEvent evt) {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (Entity entity : evt.getTargetChunk().getEntities()) {
+            flush(entity);
+        }
+    }
+
+    @Listener(order = Order.PRE)
+    public void onWorldSave(SaveWorldEvent.Pre evt) {
+        flushAll();
+    }
+
+    @Listener(order = Order.PRE)
+    public void onDisconnect(ClientConnectionEvent.Disconnect evt, @Root Player player) {
+        flush(player);
+    }
+
+    @Listener(order = Order.PRE)
+    public void onServerStopping(GameStoppingServerEvent evt) {
+        flushAll();
+    }
+}
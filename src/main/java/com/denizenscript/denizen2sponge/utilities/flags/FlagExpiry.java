@@ -0,0 +1,210 @@
+package com.denizenscript.denizen2sponge.utilities.flags;
+
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.TimeTag;
+import com.denizenscript.denizen2sponge.Denizen2Sponge;
+import com.denizenscript.denizen2sponge.Settings;
+import com.denizenscript.denizen2sponge.events.server.FlagExpiresScriptEvent;
+import com.denizenscript.denizen2sponge.tags.objects.EntityTag;
+import com.denizenscript.denizen2sponge.utilities.EntityIndex;
+import com.denizenscript.denizen2sponge.utilities.TimerWheel;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.world.chunk.LoadChunkEvent;
+import org.spongepowered.api.world.World;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Tracks when timed server and entity flags expire, and removes them once they do, a limited number per tick.
+ * Also keeps the clock used to check flag expiry, so that reads don't need to get the current date.
+ * All access must be from the main thread.
+ */
+public class FlagExpiry {
+
+    /**
+     * The holder used for server flags.
+     */
+    public static final Object SERVER = new Object();
+
+    public static final long MILLIS_PER_TICK = 50;
+
+    private static final class FlagKey {
+
+        final Object holder;
+
+        final String flag;
+
+        FlagKey(Object holder, String flag) {
+            this.holder = holder;
+            this.flag = flag;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof FlagKey && ((FlagKey) other).holder.equals(holder) && ((FlagKey) other).flag.equals(flag);
+        }
+
+        @Override
+        public int hashCode() {
+            return holder.hashCode() * 31 + flag.hashCode();
+        }
+    }
+
+    private static long now = 0;
+
+    private static TimerWheel<FlagKey> wheel = null;
+
+    private static final Map<FlagKey, TimerWheel.Timer<FlagKey>> timers = new HashMap<>();
+
+    private static final ArrayDeque<FlagKey> due = new ArrayDeque<>();
+
+    /**
+     * Gets the current time in milliseconds since the epoch, as of the start of this tick.
+     */
+    public static long currentTimeMillis() {
+        return now == 0 ? System.currentTimeMillis() : now;
+    }
+
+    public static long toMillis(TimeTag time) {
+        LocalDateTime ldt = time.getInternal();
+        return ldt.toEpochSecond(ZoneOffset.UTC) * 1000 + ldt.getNano() / 1000000;
+    }
+
+    public static TimeTag toTime(long millis) {
+        return new TimeTag(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1000000, ZoneOffset.UTC));
+    }
+
+    private static TimerWheel<FlagKey> getWheel() {
+        if (wheel == null) {
+            wheel = new TimerWheel<>(currentTimeMillis() / MILLIS_PER_TICK);
+        }
+        return wheel;
+    }
+
+    /**
+     * Tracks a flag that expires at the given time, replacing any earlier expiration tracked for the same flag.
+     */
+    public static void track(Object holder, String flag, long expiry) {
+        FlagKey key = new FlagKey(holder, flag);
+        untrack(key);
+        // Due on the first tick strictly after the expiry time
+        timers.put(key, getWheel().schedule(key, expiry / MILLIS_PER_TICK + 1));
+    }
+
+    /**
+     * Stops tracking a flag, for when it is removed or set without a duration.
+     */
+    public static void untrack(Object holder, String flag) {
+        if (!timers.isEmpty()) {
+            untrack(new FlagKey(holder, flag));
+        }
+    }
+
+    private static void untrack(FlagKey key) {
+        TimerWheel.Timer<FlagKey> timer = timers.remove(key);
+        if (timer != null) {
+            wheel.cancel(timer);
+        }
+    }
+
+    /**
+     * Tracks every timed flag in a flag map.
+     */
+    public static void trackAll(Object holder, FlagTable flags) {
+        for (int slot = 0; slot < flags.capacity(); slot++) {
+            if (flags.keyAt(slot) != null && flags.expiryAt(slot) != FlagTable.NEVER) {
+                track(holder, flags.keyAt(slot), flags.expiryAt(slot));
+            }
+        }
+    }
+
+    public static void trackEntity(Entity entity) {
+        if (entity.supports(FlagHelper.FLAGMAP)) {
+            trackAll(entity.getUniqueId(), FlagCache.getFlags(entity));
+        }
+    }
+
+    public static void trackAllEntities() {
+        for (World world : Sponge.getServer().getWorlds()) {
+            for (Entity entity : world.getEntities()) {
+                trackEntity(entity);
+            }
+        }
+    }
+
+    /**
+     * Removes a limited number of expired flags from their holders, in the order they expired.
+     * Called at the start of each tick.
+     */
+    public static void tick() {
+        now = System.currentTimeMillis();
+        if (wheel == null) {
+            return;
+        }
+        wheel.advance(now / MILLIS_PER_TICK, (timer) -> {
+            timers.remove(timer.value);
+            due.add(timer.value);
+        });
+        int budget = Settings.flagExpiryBudget();
+        while (budget-- > 0 && !due.isEmpty()) {
+            expire(due.poll());
+        }
+    }
+
+    private static void expire(FlagKey key) {
+        FlagTable flags;
+        Entity entity = null;
+        if (key.holder == SERVER) {
+            flags = Denizen2Sponge.instance.serverFlags;
+        }
+        else {
+            entity = EntityIndex.getIndexed((UUID) key.holder);
+            if (entity == null) {
+                // Tracked again when the entity next loads
+                return;
+            }
+            flags = FlagCache.getFlags(entity);
+        }
+        // Flags that were removed, or set again with a later or no expiry, are never expired
+        if (flags.getExpiry(key.flag) >= currentTimeMillis()) {
+            return;
+        }
+        AbstractTagObject value = flags.get(key.flag);
+        if (entity != null) {
+            flags = FlagCache.getModifiableFlags(entity);
+        }
+        flags.remove(key.flag);
+        FlagExpiresScriptEvent.fire(entity == null ? null : new EntityTag(entity), key.flag, value);
+    }
+
+    @Listener(order = Order.POST)
+    public void onSpawn(SpawnEntityEvent evt) {
+        if (evt.isCancelled()) {
+            return;
+        }
+        for (Entity entity : evt.getEntities()) {
+            trackEntity(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onChunkLoad(LoadChunkEvent evt) {
+        for (Entity entity : evt.getTargetChunk().getEntities()) {
+            trackEntity(entity);
+        }
+    }
+
+    @Listener(order = Order.POST)
+    public void onJoin(ClientConnectionEvent.Join evt, @Root Player player) {
+        trackEntity(player);
+    }
+}
@@ -1,27 +1,328 @@
 package com.denizenscript.denizen2sponge.utilities.flags;
 
-import com.denizenscript.denizen2core.tags.objects.MapTag;
+import com.denizenscript.denizen2core.Denizen2Core;
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.*;
+import com.denizenscript.denizen2core.utilities.Action;
 import org.spongepowered.api.data.*;
 
+import java.lang.ref.WeakReference;
+import java.util.*;
+
 public class FlagMap implements DataSerializable {
 
+    public static final int CONTENT_VERSION = 3;
+
+    /**
+     * Version 1 only: the whole flag map, as a single savable string.
+     */
     public static final DataQuery FLAG = DataQuery.of("denizen_flag");
 
-    public MapTag flags;
+    public static final DataQuery FLAGS = DataQuery.of("denizen_flags");
+
+    // Map keys starting with '$' are markers for values that aren't plain maps; actual keys starting with '$' are escaped as '$$'
+    private static final String SAVED = "$saved";
+
+    private static final String LIST = "$list";
+
+    // Timed flags are written as a map of their value and expiry time, other flags as just their value
+    private static final DataQuery TIMED_VALUE = DataQuery.of("$value");
+
+    private static final DataQuery TIMED_EXPIRES = DataQuery.of("$expires");
+
+    private static final DataQuery LIST_VALUE = DataQuery.of("v");
+
+    public static final int CACHE_SIZE = 256;
+
+    // Recently loaded flag data, mapped to the flags decoded from it, for holders that are loaded with identical flags (copied items, etc.)
+    // Stored keys hold detached copies of just the flag data, so the holders' own data is not kept and can't change under the cache
+    private static final Map<ContentKey, WeakReference<FlagTable>> decoded = new LinkedHashMap<ContentKey, WeakReference<FlagTable>>(CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ContentKey, WeakReference<FlagTable>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Compares flag data by content, with the hash computed once up front.
+     * Lookups wrap the holder's own view, so it is only copied when it has to be stored.
+     */
+    private static class ContentKey {
+
+        final DataView view;
 
-    public FlagMap(MapTag mt) {
-        flags = mt;
+        final int hash;
+
+        ContentKey(DataView view, int hash) {
+            this.view = view;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ContentKey && ((ContentKey) other).hash == hash && contentEquals(view, ((ContentKey) other).view);
+        }
+    }
+
+    private static int contentHash(Object value) {
+        if (value instanceof DataView) {
+            DataView view = (DataView) value;
+            int res = 0;
+            for (DataQuery query : view.getKeys(false)) {
+                res += query.last().toString().hashCode() ^ contentHash(view.get(query).orElse(null));
+            }
+            return res;
+        }
+        else if (value instanceof List) {
+            int res = 1;
+            for (Object element : (List<?>) value) {
+                res = 31 * res + contentHash(element);
+            }
+            return res;
+        }
+        return Objects.hashCode(value);
+    }
+
+    private static boolean contentEquals(Object a, Object b) {
+        if (a instanceof DataView && b instanceof DataView) {
+            DataView viewA = (DataView) a;
+            DataView viewB = (DataView) b;
+            Set<DataQuery> keys = viewA.getKeys(false);
+            if (keys.size() != viewB.getKeys(false).size()) {
+                return false;
+            }
+            for (DataQuery query : keys) {
+                DataQuery key = DataQuery.of(query.last().toString());
+                if (!contentEquals(viewA.get(key).orElse(null), viewB.get(key).orElse(null))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        else if (a instanceof List && b instanceof List) {
+            List<?> listA = (List<?>) a;
+            List<?> listB = (List<?>) b;
+            if (listA.size() != listB.size()) {
+                return false;
+            }
+            for (int i = 0; i < listA.size(); i++) {
+                if (!contentEquals(listA.get(i), listB.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(a, b);
+    }
+
+    public FlagTable flags;
+
+    public FlagMap(FlagTable table) {
+        flags = table;
     }
 
     @Override
     public int getContentVersion() {
-        return 1;
+        return CONTENT_VERSION;
     }
 
     @Override
     public DataContainer toContainer() {
         DataContainer mdc = DataContainer.createNew();
-        mdc.set(FLAG, flags.savable());
+        writeTable(mdc.createView(FLAGS), flags);
         return mdc;
     }
+
+    /**
+     * Reads a flag map written by toContainer.
+     * The returned flags may be shared with other holders that were loaded with identical flags,
+     * so they must be copied before being changed (see getModifiableFlags).
+     */
+    public static Optional<FlagMap> fromView(DataView view, Action<String> error) {
+        Optional<DataView> flags = view.getView(FLAGS);
+        if (!flags.isPresent()) {
+            return Optional.empty();
+        }
+        int hash = contentHash(flags.get());
+        FlagTable table;
+        synchronized (decoded) {
+            WeakReference<FlagTable> ref = decoded.get(new ContentKey(flags.get(), hash));
+            table = ref == null ? null : ref.get();
+        }
+        if (table == null) {
+            DataContainer payload = flags.get().copy();
+            table = readTable(payload, error);
+            synchronized (decoded) {
+                decoded.put(new ContentKey(payload, hash), new WeakReference<>(table));
+            }
+        }
+        return Optional.of(new FlagMap(table));
+    }
+
+    /**
+     * Gets a copy of the flags that can be changed and then offered back as a new FlagMap.
+     */
+    public FlagTable getModifiableFlags() {
+        return flags.copy();
+    }
+
+    /**
+     * Converts a version 1 or 2 flag map to the current version, in place.
+     * Older versions held a plain map, where entity and server flags were entry maps of a value and a duration,
+     * and item flags were plain values.
+     */
+    public static void upgrade(DataView view, Action<String> error) {
+        MapTag mt;
+        Optional<String> str = view.getString(FLAG);
+        if (str.isPresent()) {
+            mt = (MapTag) Denizen2Core.loadFromSaved(error, str.get());
+            view.remove(FLAG);
+        }
+        else {
+            Optional<DataView> flags = view.getView(FLAGS);
+            if (!flags.isPresent()) {
+                return;
+            }
+            mt = readMap(flags.get(), error);
+            view.remove(FLAGS);
+        }
+        writeTable(view.createView(FLAGS), FlagTable.fromEntryMap(mt));
+    }
+
+    private static String escape(String key) {
+        return key.startsWith("$") ? "$" + key : key;
+    }
+
+    private static String unescape(String key) {
+        return key.startsWith("$$") ? key.substring(1) : key;
+    }
+
+    private static void writeTable(DataView view, FlagTable table) {
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            String name = table.keyAt(slot);
+            if (name == null) {
+                continue;
+            }
+            DataQuery key = DataQuery.of(escape(name));
+            long expiry = table.expiryAt(slot);
+            if (expiry == FlagTable.NEVER) {
+                write(view, key, table.valueAt(slot));
+            }
+            else {
+                DataView timed = view.createView(key);
+                write(timed, TIMED_VALUE, table.valueAt(slot));
+                timed.set(TIMED_EXPIRES, expiry);
+            }
+        }
+    }
+
+    private static FlagTable readTable(DataView view, Action<String> error) {
+        FlagTable table = new FlagTable();
+        for (DataQuery query : view.getKeys(false)) {
+            String key = unescape(query.last().toString());
+            Object value = view.get(query).get();
+            if (value instanceof DataView && ((DataView) value).contains(TIMED_EXPIRES)) {
+                DataView timed = (DataView) value;
+                table.put(key, read(timed.get(TIMED_VALUE).get(), error), timed.getLong(TIMED_EXPIRES).get());
+            }
+            else {
+                table.put(key, read(value, error));
+            }
+        }
+        return table;
+    }
+
+    private static void writeMap(DataView view, MapTag map) {
+        for (Map.Entry<String, AbstractTagObject> entry : map.getInternal().entrySet()) {
+            write(view, DataQuery.of(escape(entry.getKey())), entry.getValue());
+        }
+    }
+
+    private static void write(DataView view, DataQuery key, AbstractTagObject value) {
+        Class<?> type = value.getClass();
+        if (type == TextTag.class) {
+            view.set(key, value.toString());
+        }
+        else if (type == IntegerTag.class) {
+            view.set(key, ((IntegerTag) value).getInternal());
+        }
+        else if (type == NumberTag.class) {
+            view.set(key, ((NumberTag) value).getInternal());
+        }
+        else if (type == BooleanTag.class) {
+            view.set(key, ((BooleanTag) value).getInternal());
+        }
+        else if (type == MapTag.class) {
+            writeMap(view.createView(key), (MapTag) value);
+        }
+        else if (type == ListTag.class) {
+            List<DataView> list = new ArrayList<>();
+            for (AbstractTagObject element : ((ListTag) value).getInternal()) {
+                DataContainer container = DataContainer.createNew();
+                write(container, LIST_VALUE, element);
+                list.add(container);
+            }
+            view.createView(key).set(DataQuery.of(LIST), list);
+        }
+        else {
+            view.createView(key).set(DataQuery.of(SAVED), value.savable());
+        }
+    }
+
+    private static MapTag readMap(DataView view, Action<String> error) {
+        MapTag map = new MapTag();
+        for (DataQuery query : view.getKeys(false)) {
+            map.getInternal().put(unescape(query.last().toString()), read(view.get(query).get(), error));
+        }
+        return map;
+    }
+
+    private static AbstractTagObject read(Object value, Action<String> error) {
+        if (value instanceof String) {
+            return new TextTag((String) value);
+        }
+        else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            return new IntegerTag(((Number) value).longValue());
+        }
+        else if (value instanceof Double || value instanceof Float) {
+            return new NumberTag(((Number) value).doubleValue());
+        }
+        else if (value instanceof Boolean) {
+            return BooleanTag.getForBoolean((Boolean) value);
+        }
+        else if (value instanceof Byte) {
+            // Booleans stored by storage formats that don't keep them apart from numbers
+            return BooleanTag.getForBoolean((Byte) value != 0);
+        }
+        else if (value instanceof DataView) {
+            DataView view = (DataView) value;
+            Optional<String> saved = view.getString(DataQuery.of(SAVED));
+            if (saved.isPresent()) {
+                return Denizen2Core.loadFromSaved(error, saved.get());
+            }
+            Optional<List<DataView>> list = view.getViewList(DataQuery.of(LIST));
+            if (list.isPresent()) {
+                ListTag listTag = new ListTag();
+                for (DataView element : list.get()) {
+                    listTag.getInternal().add(read(element.get(LIST_VALUE).get(), error));
+                }
+                return listTag;
+            }
+            return readMap(view, error);
+        }
+        else if (value instanceof List) {
+            ListTag listTag = new ListTag();
+            for (Object element : (List<?>) value) {
+                listTag.getInternal().add(read(element, error));
+            }
+            return listTag;
+        }
+        error.run("Invalid flag value type: " + value.getClass().getSimpleName());
+        return null;
+    }
 }
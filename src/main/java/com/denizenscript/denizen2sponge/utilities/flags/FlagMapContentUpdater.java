@@ -0,0 +1,46 @@
+package com.denizenscript.denizen2sponge.utilities.flags;
+
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.Queries;
+import org.spongepowered.api.data.persistence.DataContentUpdater;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+
+import java.util.Optional;
+
+/**
+ * Upgrades flag maps saved as a single savable string (version 1) or as a structured plain map (version 2)
+ * to the current structured format (see FlagMap).
+ * Data is upgraded as it is loaded, and saved in the new format the next time its holder is saved.
+ */
+public class FlagMapContentUpdater implements DataContentUpdater {
+
+    private final int inputVersion;
+
+    public FlagMapContentUpdater(int inputVersion) {
+        this.inputVersion = inputVersion;
+    }
+
+    @Override
+    public int getInputVersion() {
+        return inputVersion;
+    }
+
+    @Override
+    public int getOutputVersion() {
+        return FlagMap.CONTENT_VERSION;
+    }
+
+    @Override
+    public DataView update(DataView content) {
+        Optional<DataView> flags = content.getView(FlagHelper.FLAGMAP.getQuery());
+        if (flags.isPresent()) {
+            DataView view = flags.get();
+            FlagMap.upgrade(view, (e) -> {
+                throw new InvalidDataException("Denizen2: " + e);
+            });
+            content.set(FlagHelper.FLAGMAP.getQuery(), view);
+        }
+        content.set(Queries.CONTENT_VERSION, getOutputVersion());
+        return content;
+    }
+}
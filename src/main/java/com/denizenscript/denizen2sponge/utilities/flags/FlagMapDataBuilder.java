@@ -1,7 +1,5 @@
 package com.denizenscript.denizen2sponge.utilities.flags;
 
-import com.denizenscript.denizen2core.Denizen2Core;
-import com.denizenscript.denizen2core.tags.objects.MapTag;
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.Queries;
@@ -30,21 +28,15 @@ public class FlagMapDataBuilder extends AbstractDataBuilder<FlagMapDataImpl> imp
     @Override
     protected Optional<FlagMapDataImpl> buildContent(DataView container) throws InvalidDataException {
         Integer version = (Integer) container.get(Queries.CONTENT_VERSION).get();
-        if (version != 1) {
+        if (version != FlagMap.CONTENT_VERSION) {
             return Optional.empty();
         }
         Optional<DataView> dv = container.getView(FlagHelper.FLAGMAP.getQuery());
         if (!dv.isPresent()) {
             return Optional.empty();
         }
-        Optional<String> str = dv.get().getString(FlagMap.FLAG);
-        if (!str.isPresent()) {
-            return Optional.empty();
-        }
-        String val = str.get();
-        MapTag mt = (MapTag) Denizen2Core.loadFromSaved((e) -> {
+        return FlagMap.fromView(dv.get(), (e) -> {
             throw new InvalidDataException("Denizen2: " + e);
-        }, val);
-        return Optional.of(new FlagMapDataImpl(new FlagMap(mt)));
+        }).map(FlagMapDataImpl::new);
     }
 }
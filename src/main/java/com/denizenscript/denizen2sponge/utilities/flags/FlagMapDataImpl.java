@@ -1,6 +1,5 @@
 package com.denizenscript.denizen2sponge.utilities.flags;
 
-import com.denizenscript.denizen2core.tags.objects.MapTag;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.DataHolder;
@@ -18,7 +17,7 @@ public class FlagMapDataImpl extends AbstractSingleData<FlagMap, FlagMapDataImpl
     }
 
     public FlagMapDataImpl() {
-        this(new FlagMap(new MapTag()));
+        this(new FlagMap(new FlagTable()));
     }
 
     public Value<FlagMap> defaultFlagMap() {
@@ -32,12 +31,12 @@ public class FlagMapDataImpl extends AbstractSingleData<FlagMap, FlagMapDataImpl
 
     @Override
     public int getContentVersion() {
-        return 1;
+        return FlagMap.CONTENT_VERSION;
     }
 
     @Override
     protected Value<FlagMap> getValueGetter() {
-        return Sponge.getRegistry().getValueFactory().createValue(FlagHelper.FLAGMAP, getValue(), new FlagMap(new MapTag()));
+        return Sponge.getRegistry().getValueFactory().createValue(FlagHelper.FLAGMAP, getValue(), new FlagMap(new FlagTable()));
     }
 
     @Override
@@ -0,0 +1,303 @@
+package com.denizenscript.denizen2sponge.utilities.flags;
+
+import com.denizenscript.denizen2core.tags.AbstractTagObject;
+import com.denizenscript.denizen2core.tags.objects.MapTag;
+import com.denizenscript.denizen2core.tags.objects.TimeTag;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The flags of a single holder: each flag is a name, a value and an expiry time.
+ * Flags are kept in parallel arrays with open addressing rather than as a map of maps, so each flag costs only three array slots,
+ * and flag names are interned, so the many holders flagged with the same names share one copy of each name.
+ * Interned names are only weakly held, so names that are no longer used by any flag can be collected.
+ * MapTag views are only built for scripts that read the flags as a map.
+ * Tables may be shared between holders that were loaded with identical flags, so they must be copied before being changed.
+ */
+public class FlagTable {
+
+    /**
+     * The expiry time of flags that never expire.
+     */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private static final int MIN_CAPACITY = 4;
+
+    private static final String[] NO_KEYS = new String[0];
+
+    private static final AbstractTagObject[] NO_VALUES = new AbstractTagObject[0];
+
+    private static final long[] NO_EXPIRIES = new long[0];
+
+    private static final Map<String, WeakReference<String>> names = new WeakHashMap<>();
+
+    public static String intern(String name) {
+        synchronized (names) {
+            WeakReference<String> ref = names.get(name);
+            String res = ref == null ? null : ref.get();
+            if (res == null) {
+                names.put(name, new WeakReference<>(name));
+                return name;
+            }
+            return res;
+        }
+    }
+
+    private String[] keys = NO_KEYS;
+
+    private AbstractTagObject[] values = NO_VALUES;
+
+    private long[] expiries = NO_EXPIRIES;
+
+    private int size = 0;
+
+    public FlagTable copy() {
+        FlagTable res = new FlagTable();
+        if (size > 0) {
+            res.keys = keys.clone();
+            res.values = values.clone();
+            res.expiries = expiries.clone();
+            res.size = size;
+        }
+        return res;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of slots, for looping over the flags with the slot methods. Empty slots have a null key.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public String keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public AbstractTagObject valueAt(int slot) {
+        return values[slot];
+    }
+
+    public long expiryAt(int slot) {
+        return expiries[slot];
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(String flag) {
+        if (size == 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int i = hash(flag) & mask; ; i = (i + 1) & mask) {
+            String key = keys[i];
+            if (key == null) {
+                return -1;
+            }
+            if (key == flag || key.equals(flag)) {
+                return i;
+            }
+        }
+    }
+
+    public boolean contains(String flag) {
+        return indexOf(flag) >= 0;
+    }
+
+    /**
+     * Gets the value of a flag, whether or not it has expired, or null if there is no such flag.
+     */
+    public AbstractTagObject get(String flag) {
+        int i = indexOf(flag);
+        return i < 0 ? null : values[i];
+    }
+
+    /**
+     * Gets the expiry time of a flag in milliseconds since the epoch, or NEVER if the flag is not timed or does not exist.
+     */
+    public long getExpiry(String flag) {
+        int i = indexOf(flag);
+        return i < 0 ? NEVER : expiries[i];
+    }
+
+    public boolean isValid(String flag) {
+        int i = indexOf(flag);
+        return i >= 0 && expiries[i] >= FlagExpiry.currentTimeMillis();
+    }
+
+    /**
+     * Gets the value of a flag, or null if there is no such flag or it has expired.
+     */
+    public AbstractTagObject getValid(String flag) {
+        int i = indexOf(flag);
+        return i >= 0 && expiries[i] >= FlagExpiry.currentTimeMillis() ? values[i] : null;
+    }
+
+    public void put(String flag, AbstractTagObject value) {
+        put(flag, value, NEVER);
+    }
+
+    public void put(String flag, AbstractTagObject value, long expiry) {
+        int i = indexOf(flag);
+        if (i < 0) {
+            // Keep at least a quarter of the slots empty, so probe runs stay short
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(Math.max(MIN_CAPACITY, keys.length * 2));
+            }
+            int mask = keys.length - 1;
+            i = hash(flag) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = intern(flag);
+            size++;
+        }
+        values[i] = value;
+        expiries[i] = expiry;
+    }
+
+    public boolean remove(String flag) {
+        int i = indexOf(flag);
+        if (i < 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        // Move later flags of the same probe run back into the gap, so lookups never stop early at an empty slot
+        int gap = i;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                expiries[gap] = expiries[j];
+                gap = j;
+            }
+        }
+        keys[gap] = null;
+        values[gap] = null;
+        expiries[gap] = 0;
+        size--;
+        return true;
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        AbstractTagObject[] oldValues = values;
+        long[] oldExpiries = expiries;
+        keys = new String[capacity];
+        values = new AbstractTagObject[capacity];
+        expiries = new long[capacity];
+        int mask = capacity - 1;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != null) {
+                int i = hash(oldKeys[slot]) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[slot];
+                values[i] = oldValues[slot];
+                expiries[i] = oldExpiries[slot];
+            }
+        }
+    }
+
+    /**
+     * Gets the names of all flags that expired before the given time.
+     */
+    public List<String> getExpired(long now) {
+        List<String> res = new ArrayList<>();
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && expiries[slot] < now) {
+                res.add(keys[slot]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Builds a map of each flag that has not expired to its value.
+     */
+    public MapTag toValueMap() {
+        MapTag res = new MapTag();
+        long now = FlagExpiry.currentTimeMillis();
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null && expiries[slot] >= now) {
+                res.getInternal().put(keys[slot], values[slot]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Builds a map of each flag to an entry map holding its value and, for timed flags, its expiry time as a "duration" TimeTag.
+     */
+    public MapTag toEntryMap() {
+        MapTag res = new MapTag();
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                MapTag entry = new MapTag();
+                entry.getInternal().put("value", values[slot]);
+                if (expiries[slot] != NEVER) {
+                    entry.getInternal().put("duration", FlagExpiry.toTime(expiries[slot]));
+                }
+                res.getInternal().put(keys[slot], entry);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Reads flags that never expire from a map of flag names to values.
+     */
+    public static FlagTable fromValueMap(MapTag map) {
+        FlagTable res = new FlagTable();
+        for (Map.Entry<String, AbstractTagObject> flag : map.getInternal().entrySet()) {
+            res.put(flag.getKey(), flag.getValue());
+        }
+        return res;
+    }
+
+    /**
+     * Reads flags from a map in the format written by toEntryMap.
+     * Values that are not entry maps are read as flags that never expire, as older data mixes both.
+     */
+    public static FlagTable fromEntryMap(MapTag map) {
+        FlagTable res = new FlagTable();
+        for (Map.Entry<String, AbstractTagObject> flag : map.getInternal().entrySet()) {
+            if (isEntry(flag.getValue())) {
+                Map<String, AbstractTagObject> entry = ((MapTag) flag.getValue()).getInternal();
+                AbstractTagObject duration = entry.get("duration");
+                res.put(flag.getKey(), entry.get("value"), duration == null ? NEVER : FlagExpiry.toMillis((TimeTag) duration));
+            }
+            else {
+                res.put(flag.getKey(), flag.getValue());
+            }
+        }
+        return res;
+    }
+
+    private static boolean isEntry(AbstractTagObject value) {
+        if (!(value instanceof MapTag)) {
+            return false;
+        }
+        Map<String, AbstractTagObject> entry = ((MapTag) value).getInternal();
+        if (!entry.containsKey("value")) {
+            return false;
+        }
+        return entry.size() == 1 || (entry.size() == 2 && entry.get("duration") instanceof TimeTag);
+    }
+}
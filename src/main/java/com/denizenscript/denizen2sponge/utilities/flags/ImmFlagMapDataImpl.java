@@ -1,6 +1,5 @@
 package com.denizenscript.denizen2sponge.utilities.flags;
 
-import com.denizenscript.denizen2core.tags.objects.MapTag;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.key.Key;
@@ -17,7 +16,7 @@ public class ImmFlagMapDataImpl extends AbstractImmutableSingleData<FlagMap, Imm
 
     @Override
     protected ImmutableValue<?> getValueGetter() {
-        return Sponge.getRegistry().getValueFactory().createValue(FlagHelper.FLAGMAP, this.getValue(), new FlagMap(new MapTag())).asImmutable();
+        return Sponge.getRegistry().getValueFactory().createValue(FlagHelper.FLAGMAP, this.getValue(), new FlagMap(new FlagTable())).asImmutable();
     }
 
     @Override
@@ -27,7 +26,7 @@ public class ImmFlagMapDataImpl extends AbstractImmutableSingleData<FlagMap, Imm
 
     @Override
     public int getContentVersion() {
-        return 1;
+        return FlagMap.CONTENT_VERSION;
     }
 
     @Override